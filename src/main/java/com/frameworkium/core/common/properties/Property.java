@@ -21,6 +21,8 @@ public enum Property {
   JIRA_RESULT_FIELD_NAME("jiraResultFieldName"),
   JIRA_RESULT_TRANSITION("jiraResultTransition"),
   PROXY("proxy"),
+  CACHING_PROXY("cachingProxy"),
+  PROXY_CACHE_SIZE("proxyCacheSize"),
   MAX_RETRY_COUNT("maxRetryCount"),
   // UI specific
   BROWSER("browser"),
@@ -30,6 +32,9 @@ public enum Property {
   DEVICE("device"),
   CAPTURE_URL("captureURL"),
   GRID_URL("gridURL"),
+  GRID_READ_TIMEOUT("gridReadTimeout"),
+  GRID_COMPRESSION("gridCompression"),
+  GRID_ADMISSION("gridAdmission"),
   APP_PATH("appPath"),
   APPLICATION_NAME("applicationName"),
   SAUCE("sauce"),
@@ -39,7 +44,26 @@ public enum Property {
   VIDEO_CAPTURE_URL("videoCaptureUrl"),
   CUSTOM_BROWSER_IMPL("customBrowserImpl"),
   REUSE_BROWSER("reuseBrowser"),
+  DRIVER_LIFECYCLE("driverLifecycle"),
+  ASYNC_TEARDOWN("asyncTeardown"),
+  PREFETCH_BROWSERS("prefetchBrowsers"),
+  SHARE_DRIVER_SERVICES("shareDriverServices"),
+  PROFILE_WARM_UP_URLS("profileWarmUpUrls"),
+  FAST_MODE("fastMode"),
+  FREEZE_ANIMATIONS("freezeAnimations"),
+  BLOCKED_URLS("blockedUrls"),
+  REAP_PROCESSES("reapProcesses"),
   THREADS("threads"),
+  ADAPTIVE_CONCURRENCY("adaptiveConcurrency"),
+  POOL_SIZES("poolSizes"),
+  POOL_SPARE_DRIVERS("poolSpareDrivers"),
+  POOL_ACQUIRE_TIMEOUT("poolAcquireTimeout"),
+  POOL_CREATION_THREADS("poolCreationThreads"),
+  POOL_MAX_TESTS("poolMaxTests"),
+  POOL_MAX_AGE("poolMaxAge"),
+  POOL_MAX_HEAP("poolMaxHeap"),
+  HEALTH_CHECK_TIMEOUT("healthCheckTimeout"),
+  DAEMON_PORT("daemonPort"),
   HEADLESS("headless");
 
   private static Properties properties = null;
@@ -83,6 +107,17 @@ public enum Property {
     }
   }
 
+  /**
+   * Reads every property again, including the config file, e.g. after
+   * System properties are changed in a long-lived JVM.
+   */
+  public static synchronized void reload() {
+    properties = null;
+    for (Property property : values()) {
+      property.value = property.retrieveValue(property.systemPropertyKey);
+    }
+  }
+
   private String retrieveValue(String key) {
     if (System.getProperty(key) != null) {
       return System.getProperty(key);
@@ -5,17 +5,47 @@ import static java.time.temporal.ChronoUnit.SECONDS;
 import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.common.reporting.TestIdUtils;
 import com.frameworkium.core.common.reporting.allure.AllureProperties;
+import com.frameworkium.core.ui.annotations.StubRequest;
+import com.frameworkium.core.ui.annotations.UseBrowser;
 import com.frameworkium.core.ui.browsers.UserAgent;
 import com.frameworkium.core.ui.capture.ScreenshotCapture;
+import com.frameworkium.core.ui.driver.BrowserSpec;
 import com.frameworkium.core.ui.driver.DriverSetup;
+import com.frameworkium.core.ui.driver.FastMode;
+import com.frameworkium.core.ui.driver.RequestStub;
+import com.frameworkium.core.ui.driver.RequestStubber;
+import com.frameworkium.core.ui.driver.lifecycle.AdaptiveConcurrency;
+import com.frameworkium.core.ui.driver.lifecycle.BrowserContextDriverLifecycle;
+import com.frameworkium.core.ui.driver.lifecycle.ClassScopedDriverLifecycle;
 import com.frameworkium.core.ui.driver.lifecycle.DriverLifecycle;
+import com.frameworkium.core.ui.driver.lifecycle.DriverPoolConfig;
+import com.frameworkium.core.ui.driver.lifecycle.DriverQuitter;
+import com.frameworkium.core.ui.driver.lifecycle.KeyedDriverLifecycle;
 import com.frameworkium.core.ui.driver.lifecycle.MultiUseDriverLifecycle;
+import com.frameworkium.core.ui.driver.lifecycle.PrefetchingDriverLifecycle;
 import com.frameworkium.core.ui.driver.lifecycle.SingleUseDriverLifecycle;
+import com.frameworkium.core.ui.driver.profiles.ProfileTemplate;
+import com.frameworkium.core.ui.driver.remotes.GridAdmission;
+import com.frameworkium.core.ui.driver.remotes.RemoteCommandExecutor;
+import com.frameworkium.core.ui.driver.services.DriverServices;
+import com.frameworkium.core.ui.driver.services.ProcessReaper;
+import com.frameworkium.core.ui.proxy.CachingProxy;
+import com.frameworkium.core.ui.session.Checkpoints;
+import com.frameworkium.core.ui.session.SessionStore;
+import io.qameta.allure.Allure;
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
@@ -30,15 +60,22 @@ import org.openqa.selenium.support.ui.Wait;
  */
 public class UITestLifecycle {
 
+  private static final Logger logger = LogManager.getLogger();
   private static final Duration DEFAULT_TIMEOUT = Duration.of(10, SECONDS);
 
   private static final ThreadLocal<ScreenshotCapture> capture = new ThreadLocal<>();
   private static final ThreadLocal<Wait<WebDriver>> wait = new ThreadLocal<>();
+  /** Initialises the browser for the current test on first use. */
+  private static final ThreadLocal<Runnable> pendingBrowser = new ThreadLocal<>();
+  private static final ThreadLocal<Boolean> browserInUse = new ThreadLocal<>();
+  private static final ThreadLocal<List<RequestStub>> requestStubs =
+      ThreadLocal.withInitial(ArrayList::new);
   private static final ThreadLocal<UITestLifecycle> uiTestLifecycle =
       ThreadLocal.withInitial(UITestLifecycle::new);
 
   private static DriverLifecycle driverLifecycle;
   private static String userAgent;
+  private static volatile boolean keepBetweenSuites;
 
   /**
    * @return a ThreadLocal instance of {@link UITestLifecycle}
@@ -48,37 +85,178 @@ public class UITestLifecycle {
   }
 
   /**
-   * @return check to see if class initialised correctly.
+   * @return whether the current test has initialised and used a browser.
    */
   public boolean isInitialised() {
     return wait.get() != null;
   }
 
   /**
-   * Run this before the test suite to initialise a pool of drivers.
+   * Run this before the test suite to initialise a pool of drivers and, if
+   * required, share driver services between local browsers.
    */
   public void beforeSuite() {
-    if (Property.REUSE_BROWSER.getBoolean()) {
-      driverLifecycle =
-          new MultiUseDriverLifecycle(
-              Property.THREADS.getIntWithDefault(1));
-    } else {
-      driverLifecycle = new SingleUseDriverLifecycle();
+    if (keepBetweenSuites && driverLifecycle != null) {
+      return;
+    }
+    if (Property.SHARE_DRIVER_SERVICES.getBoolean()) {
+      DriverServices.enable();
+    }
+    // remote browsers can't reach the proxy on this machine's loopback address
+    if (Property.CACHING_PROXY.getBoolean() && !DriverSetup.useRemoteDriver()) {
+      CachingProxy.startShared();
+    }
+    if (Property.REAP_PROCESSES.getBoolean()) {
+      ProcessReaper.start();
     }
+    if (Property.GRID_ADMISSION.getBoolean() && Property.GRID_URL.isSpecified()) {
+      GridAdmission.startShared();
+    }
+    if (Property.ADAPTIVE_CONCURRENCY.isSpecified()
+        && !"false".equalsIgnoreCase(Property.ADAPTIVE_CONCURRENCY.getValue().trim())) {
+      AdaptiveConcurrency.startShared();
+    }
+    driverLifecycle = new KeyedDriverLifecycle(
+        BrowserSpec.fromProperties(), UITestLifecycle::createDriverLifecycle);
     driverLifecycle.initDriverPool(DriverSetup::instantiateDriver);
   }
 
+  /**
+   * The {@link Property#DRIVER_LIFECYCLE} property selects a browser per test
+   * {@code method}, per test {@code class}, from a {@code pool}, or a browser
+   * {@code context} per test in one browser per thread. If it is not set,
+   * {@link Property#REUSE_BROWSER} selects the pool.
+   */
+  private static DriverLifecycle createDriverLifecycle(BrowserSpec browserSpec) {
+    String mode = Property.DRIVER_LIFECYCLE.isSpecified()
+        ? Property.DRIVER_LIFECYCLE.getValue().trim().toLowerCase()
+        : Property.REUSE_BROWSER.getBoolean() ? "pool" : "method";
+    switch (mode) {
+      case "pool":
+        DriverPoolConfig poolConfig = DriverPoolConfig.fromProperties(browserSpec);
+        GridAdmission.getShared().ifPresent(admission -> fitPoolToGrid(poolConfig, admission));
+        return new MultiUseDriverLifecycle(poolConfig);
+      case "class":
+        return new ClassScopedDriverLifecycle();
+      case "context":
+        return new BrowserContextDriverLifecycle();
+      case "method":
+        return createSingleUseDriverLifecycle();
+      default:
+        throw new IllegalArgumentException(
+            "Unknown driverLifecycle '" + mode + "', expected method, class, pool or context");
+    }
+  }
+
+  /**
+   * Limits the pool, including spares, to the slots of the grid, so no pooled
+   * browser waits on a slot which never frees. Unless
+   * {@link Property#POOL_ACQUIRE_TIMEOUT} is set, tests queue for a pooled
+   * browser as long as sessions queue for a grid slot.
+   */
+  private static void fitPoolToGrid(DriverPoolConfig poolConfig, GridAdmission admission) {
+    int slots = admission.getTotalSlots();
+    int poolSize = poolConfig.getPoolSize();
+    int spareDrivers = poolConfig.getSpareDrivers();
+    if (slots > 0 && slots < poolSize + spareDrivers) {
+      logger.info("Grid has {} slots, reducing pool of {} with {} spares to fit",
+          slots, poolSize, spareDrivers);
+      poolConfig
+          .withPoolSize(Math.min(poolSize, slots))
+          .withSpareDrivers(Math.max(0, slots - poolSize));
+    }
+    if (!Property.POOL_ACQUIRE_TIMEOUT.isSpecified()) {
+      poolConfig.withAcquireTimeout(GridAdmission.DEFAULT_ADMISSION_TIMEOUT);
+    }
+  }
+
+  private static DriverLifecycle createSingleUseDriverLifecycle() {
+    SingleUseDriverLifecycle singleUse;
+    if (Property.ASYNC_TEARDOWN.getBoolean()) {
+      int threads = Property.THREADS.getIntWithDefault(1);
+      singleUse = new SingleUseDriverLifecycle(new DriverQuitter(threads, threads));
+    } else {
+      singleUse = new SingleUseDriverLifecycle();
+    }
+    int prefetch = Property.PREFETCH_BROWSERS.getIntWithDefault(0);
+    return prefetch > 0
+        ? new PrefetchingDriverLifecycle(singleUse, prefetch)
+        : singleUse;
+  }
+
   /**
    * Run this before each test method to initialise the
    * browser, wait, capture, and user agent.
    *
+   * <p>The browser is only acquired, and the rest initialised, when the test
+   * first calls {@link #getWebDriver()}, {@link #getWait()} or
+   * {@link #getCapture()}, so tests which never use the browser cost nothing.
+   *
    * <p>This is useful for times when the testMethod does not contain the required
    * test name e.g. using data providers for BDD.
    *
    * @param testName the test name for Capture
    */
   public void beforeTestMethod(String testName) {
-    driverLifecycle.initBrowserBeforeTest(DriverSetup::instantiateDriver);
+    beforeTestMethod(testName, BrowserSpec.fromProperties());
+  }
+
+  /**
+   * As {@link #beforeTestMethod(String)} but borrows a browser matching the
+   * given {@link BrowserSpec}.
+   *
+   * @param testName    the test name for Capture
+   * @param browserSpec the browser required by the test
+   */
+  public void beforeTestMethod(String testName, BrowserSpec browserSpec) {
+    beforeTestMethod(testName, browserSpec, null);
+  }
+
+  /**
+   * As {@link #beforeTestMethod(String, BrowserSpec)} but, when reusing
+   * browsers, prefers the browser which last ran a test with the same
+   * affinity key, e.g. the same class or feature.
+   *
+   * @param testName    the test name for Capture
+   * @param browserSpec the browser required by the test
+   * @param affinityKey identifies related tests, may be {@code null}
+   */
+  public void beforeTestMethod(String testName, BrowserSpec browserSpec, String affinityKey) {
+    AdaptiveConcurrency.getShared().ifPresent(AdaptiveConcurrency::enter);
+    pendingBrowser.set(() -> initBrowser(testName, browserSpec, affinityKey));
+  }
+
+  /**
+   * @param testMethod the method about to run, used to extract the test name
+   * @see #beforeTestMethod(String)
+   */
+  public void beforeTestMethod(Method testMethod) {
+    beforeTestMethod(testMethod, testMethod.getDeclaringClass());
+  }
+
+  /**
+   * @param testMethod the method about to run, used to extract the test name
+   * @param testClass  the class of the test instance, used as the affinity key
+   * @see #beforeTestMethod(String, BrowserSpec, String)
+   */
+  public void beforeTestMethod(Method testMethod, Class<?> testClass) {
+    // method stubs take precedence over class stubs
+    requestStubs.get().clear();
+    Stream.of(testMethod.getAnnotationsByType(StubRequest.class),
+        testClass.getAnnotationsByType(StubRequest.class))
+        .flatMap(Arrays::stream)
+        .map(RequestStub::from)
+        .forEach(requestStubs.get()::add);
+    beforeTestMethod(
+        getTestNameForCapture(testMethod),
+        getBrowserSpec(testMethod, testClass),
+        testClass.getName());
+  }
+
+  private void initBrowser(String testName, BrowserSpec browserSpec, String affinityKey) {
+    driverLifecycle.initBrowserBeforeTest(
+        browserSpec, affinityKey, DriverSetup::instantiateDriver);
+    browserInUse.set(true);
 
     wait.set(newWaitWithTimeout(DEFAULT_TIMEOUT));
 
@@ -89,14 +267,24 @@ public class UITestLifecycle {
     if (userAgent == null) {
       userAgent = UserAgent.getUserAgent((JavascriptExecutor) getWebDriver());
     }
+
+    if (!requestStubs.get().isEmpty()) {
+      RequestStubber.stub(getWebDriver(), requestStubs.get());
+    }
   }
 
   /**
-   * @param testMethod the method about to run, used to extract the test name
-   * @see #beforeTestMethod(String)
+   * @return the spec from {@link UseBrowser} on the method, or else the test
+   *     class, or else from properties.
    */
-  public void beforeTestMethod(Method testMethod) {
-    beforeTestMethod(getTestNameForCapture(testMethod));
+  private BrowserSpec getBrowserSpec(Method testMethod, Class<?> testClass) {
+    UseBrowser useBrowser = testMethod.getAnnotation(UseBrowser.class);
+    if (useBrowser == null) {
+      useBrowser = testClass.getAnnotation(UseBrowser.class);
+    }
+    return useBrowser == null
+        ? BrowserSpec.fromProperties()
+        : BrowserSpec.from(useBrowser);
   }
 
   private String getTestNameForCapture(Method testMethod) {
@@ -108,19 +296,157 @@ public class UITestLifecycle {
   }
 
   /**
-   * Run after each test method to clear or tear down the browser
+   * As {@link #loginAs(String, Consumer, Predicate)}, trusting restored
+   * sessions until their cookies expire.
+   */
+  public void loginAs(String role, Consumer<WebDriver> login) {
+    loginAs(role, login, driver -> true);
+  }
+
+  /**
+   * Logs the browser in as a user role. The login flow runs once per role
+   * per suite, later tests have the captured cookies, localStorage and
+   * sessionStorage restored into their browser instead.
+   *
+   * @param role       the user role, e.g. {@code admin}
+   * @param login      logs the browser in as the role, leaving it on a page
+   *                   of the site
+   * @param isLoggedIn checks whether a restored session is accepted by the
+   *                   server, if not the role logs in again
+   * @see SessionStore
+   */
+  public void loginAs(String role, Consumer<WebDriver> login, Predicate<WebDriver> isLoggedIn) {
+    SessionStore.loginAs(getWebDriver(), role, login, isLoggedIn);
+  }
+
+  /**
+   * Starts the test from a named checkpoint, restoring the URL, cookies and
+   * web storage recorded by the first test to reach it, on any browser.
+   *
+   * @param checkpoint the name of the checkpoint
+   * @param steps      the steps to reach the checkpoint, run once per suite
+   * @see Checkpoints
+   */
+  public void startFrom(String checkpoint, Consumer<WebDriver> steps) {
+    Checkpoints.startFrom(getWebDriver(), checkpoint, steps);
+  }
+
+  /**
+   * Answers or delays browser requests for the rest of the current test,
+   * taking precedence over earlier stubs and {@link StubRequest} annotations.
+   * A log of the requests stubbed is attached to the Allure report.
+   *
+   * @param stubs the stubs to apply, the first matching stub is used
+   */
+  public void stubRequests(RequestStub... stubs) {
+    requestStubs.get().addAll(0, Arrays.asList(stubs));
+    if (browserInUse.get() != null) {
+      RequestStubber.stub(getWebDriver(), requestStubs.get());
+    }
+  }
+
+  /**
+   * Run after each test method to clear or tear down the browser, if the test
+   * used one.
    */
   public void afterTestMethod() {
-    driverLifecycle.tearDownDriver();
+    pendingBrowser.remove();
+    wait.remove();
+    capture.remove();
+    try {
+      if (browserInUse.get() != null) {
+        browserInUse.remove();
+        if (!requestStubs.get().isEmpty()) {
+          clearRequestStubs();
+        }
+        driverLifecycle.tearDownDriver();
+      }
+    } finally {
+      requestStubs.remove();
+      AdaptiveConcurrency.getShared().ifPresent(AdaptiveConcurrency::exit);
+    }
+  }
+
+  private void clearRequestStubs() {
+    try {
+      List<String> hits = RequestStubber.clear(driverLifecycle.getWebDriver());
+      if (!hits.isEmpty()) {
+        Allure.addAttachment("Stubbed requests", "text/plain", String.join("\n", hits));
+      }
+    } catch (RuntimeException e) {
+      // the browser is torn down regardless
+      logger.warn("Failed to clear request stubs.", e);
+    }
+  }
+
+  /**
+   * Run after the last test method of a class to release any browser kept
+   * for the class.
+   *
+   * @param testClass the class of the test instance
+   */
+  public void afterTestClass(Class<?> testClass) {
+    driverLifecycle.afterTestClass(testClass.getName());
+  }
+
+  /**
+   * Keeps the browsers and shared services started by {@link #beforeSuite()}
+   * for later suites run in this JVM, e.g. by the
+   * {@link com.frameworkium.core.ui.daemon.RunDaemon}. Between suites, idle
+   * browsers are replaced in the background, startup and latency summaries
+   * are logged and reset, and cached sessions and checkpoints are cleared.
+   *
+   * @see #shutdownKeptSuites()
+   */
+  public static void keepBetweenSuites() {
+    keepBetweenSuites = true;
+  }
+
+  /**
+   * Stops keeping browsers between suites and tears down everything kept,
+   * as {@link #afterTestSuite()} does for a single suite.
+   */
+  public static synchronized void shutdownKeptSuites() {
+    if (keepBetweenSuites) {
+      keepBetweenSuites = false;
+      if (driverLifecycle != null) {
+        get().afterTestSuite();
+      }
+    }
   }
 
   /**
    * Run after the entire test suite to:
-   * clear down the browser pool, send remaining screenshots to Capture
-   * and create properties for Allure.
+   * clear down the browser pool, stop shared driver services, delete profile
+   * templates, send remaining screenshots to Capture and create properties
+   * for Allure.
+   *
+   * <p>If browsers are kept between suites, idle browsers are replaced
+   * instead.
    */
   public void afterTestSuite() {
+    if (keepBetweenSuites) {
+      driverLifecycle.resetIdleDrivers();
+      FastMode.logStartupSummary();
+      FastMode.resetStartups();
+      RemoteCommandExecutor.logLatencySummary();
+      RemoteCommandExecutor.resetLatencies();
+      SessionStore.clear();
+      Checkpoints.clear();
+      ScreenshotCapture.processRemainingBacklog();
+      return;
+    }
     driverLifecycle.tearDownDriverPool();
+    DriverServices.shutdown();
+    ProcessReaper.stop();
+    ProfileTemplate.deleteAll();
+    FastMode.logStartupSummary();
+    RemoteCommandExecutor.logLatencySummary();
+    CachingProxy.stopShared();
+    GridAdmission.stopShared();
+    AdaptiveConcurrency.stopShared();
+    SessionStore.clear();
+    Checkpoints.clear();
     ScreenshotCapture.processRemainingBacklog();
     AllureProperties.createUI();
   }
@@ -145,18 +471,33 @@ public class UITestLifecycle {
         .ignoring(StaleElementReferenceException.class);
   }
 
+  /**
+   * @return the browser for the current test, acquiring it on first use
+   */
   public WebDriver getWebDriver() {
+    initPendingBrowser();
     return driverLifecycle.getWebDriver();
   }
 
   public ScreenshotCapture getCapture() {
+    initPendingBrowser();
     return capture.get();
   }
 
   public Wait<WebDriver> getWait() {
+    initPendingBrowser();
     return wait.get();
   }
 
+  private void initPendingBrowser() {
+    Runnable init = pendingBrowser.get();
+    if (init != null) {
+      // removed first as initialisation itself uses the browser
+      pendingBrowser.remove();
+      init.run();
+    }
+  }
+
   /**
    * @return the user agent of the browser in the first UI test to run.
    */
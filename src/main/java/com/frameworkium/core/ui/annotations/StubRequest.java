@@ -0,0 +1,47 @@
+package com.frameworkium.core.ui.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Answers, or delays, browser requests matching a URL pattern during a UI
+ * test method, or all methods of a test class. Only supported by local
+ * Chromium browsers.
+ *
+ * @see com.frameworkium.core.ui.driver.RequestStub
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Repeatable(StubRequests.class)
+public @interface StubRequest {
+
+  /**
+   * The URL pattern, where {@code *} matches any characters and {@code ?}
+   * matches one character, e.g. {@code *://api.example.com/prices*}.
+   */
+  String value();
+
+  /**
+   * The classpath resource to answer with, if not set matching requests are
+   * sent to the server after the delay.
+   */
+  String fixture() default "";
+
+  /**
+   * The status code to answer with.
+   */
+  int status() default 200;
+
+  /**
+   * The content type to answer with, by default guessed from the fixture.
+   */
+  String contentType() default "";
+
+  /**
+   * The time to hold matching requests for, in milliseconds.
+   */
+  long delayMillis() default 0;
+}
@@ -0,0 +1,43 @@
+package com.frameworkium.core.ui.annotations;
+
+import com.frameworkium.core.ui.driver.DriverSetup;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the browser a UI test method, or all methods of a test class and
+ * its subclasses, need.
+ * The test borrows a driver from the pool for that browser.
+ *
+ * <p>Values which are not set are taken from the browserVersion, platform and
+ * headless properties.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UseBrowser {
+
+  /**
+   * The browser required.
+   */
+  DriverSetup.Browser value();
+
+  /**
+   * The browser version required, mainly for remote grids.
+   */
+  String version() default "";
+
+  /**
+   * The platform required, mainly for remote grids.
+   */
+  String platform() default "";
+
+  /**
+   * Run headless. The headless property takes precedence, so a test cannot
+   * ask for a headed browser when it is set.
+   */
+  boolean headless() default false;
+}
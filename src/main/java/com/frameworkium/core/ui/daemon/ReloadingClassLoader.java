@@ -0,0 +1,38 @@
+package com.frameworkium.core.ui.daemon;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Loads classes from its own paths, e.g. {@code target/test-classes}, before
+ * asking its parent, so each run sees the latest compiled tests and pages
+ * while sharing the framework, and its warm browsers, with the daemon.
+ */
+final class ReloadingClassLoader extends URLClassLoader {
+
+  static {
+    registerAsParallelCapable();
+  }
+
+  ReloadingClassLoader(URL[] paths, ClassLoader parent) {
+    super(paths, parent);
+  }
+
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> loaded = findLoadedClass(name);
+      if (loaded == null) {
+        try {
+          loaded = findClass(name);
+        } catch (ClassNotFoundException e) {
+          return super.loadClass(name, resolve);
+        }
+      }
+      if (resolve) {
+        resolveClass(loaded);
+      }
+      return loaded;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.frameworkium.core.ui.daemon;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.IConfigurationListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Writes a line to the client as each test starts and finishes, e.g.
+ * {@code PASSED com.example.tests.LoginTest#login (2315ms)}.
+ */
+final class ResultStreamer implements ITestListener, IConfigurationListener {
+
+  private final PrintWriter out;
+  private final AtomicInteger passed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+
+  ResultStreamer(PrintWriter out) {
+    this.out = out;
+  }
+
+  @Override
+  public void onTestStart(ITestResult result) {
+    send("STARTED " + name(result));
+  }
+
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    passed.incrementAndGet();
+    send("PASSED " + name(result) + " (" + millis(result) + "ms)");
+  }
+
+  @Override
+  public void onTestFailure(ITestResult result) {
+    failed.incrementAndGet();
+    send("FAILED " + name(result) + " (" + millis(result) + "ms): " + result.getThrowable());
+  }
+
+  @Override
+  public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+    onTestFailure(result);
+  }
+
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    skipped.incrementAndGet();
+    send("SKIPPED " + name(result));
+  }
+
+  @Override
+  public void onConfigurationFailure(ITestResult result) {
+    send("CONFIGURATION_FAILED " + name(result) + ": " + result.getThrowable());
+  }
+
+  /**
+   * @return the final line of a run, e.g. {@code DONE passed=3 failed=1 skipped=0}
+   */
+  String summary() {
+    return String.format("DONE passed=%d failed=%d skipped=%d",
+        passed.get(), failed.get(), skipped.get());
+  }
+
+  /**
+   * Sends a line to the client. Tests may finish on several threads at once.
+   */
+  synchronized void send(String line) {
+    out.println(line);
+    out.flush();
+  }
+
+  private static String name(ITestResult result) {
+    return result.getTestClass().getName() + "#" + result.getMethod().getMethodName();
+  }
+
+  private static long millis(ITestResult result) {
+    return result.getEndMillis() - result.getStartMillis();
+  }
+}
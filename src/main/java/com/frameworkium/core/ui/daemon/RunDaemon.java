@@ -0,0 +1,257 @@
+package com.frameworkium.core.ui.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.UITestLifecycle;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Keeps a JVM, and its browsers, warm between test runs, so editing and
+ * re-running a test costs the test's time rather than JVM and browser
+ * startup.
+ *
+ * <p>Start the daemon with the test classpath, optionally passing the
+ * directories of compiled tests, by default {@code target/test-classes}:
+ * <pre>
+ * java -cp ... -DdriverLifecycle=pool com.frameworkium.core.ui.daemon.RunDaemon
+ * </pre>
+ * then send it runs with {@link RunDaemonClient}. Runs listen on the loopback
+ * address at {@link Property#DAEMON_PORT}, by default {@value #DEFAULT_PORT},
+ * and are run one at a time. Each run:
+ * <ul>
+ * <li>loads test classes afresh from the compiled test directories, so
+ * recompiled tests and pages are picked up</li>
+ * <li>sets the requested System properties until it finishes</li>
+ * <li>streams each test's result back as it finishes</li>
+ * <li>replaces the idle browsers, in the background, when it ends</li>
+ * </ul>
+ *
+ * <p>Properties which configure browsers and shared services, e.g.
+ * {@link Property#DRIVER_LIFECYCLE}, are read when the daemon starts. Unless
+ * set, browsers are pooled so they are kept between runs.
+ */
+public class RunDaemon implements AutoCloseable {
+
+  public static final int DEFAULT_PORT = 7020;
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final Path DEFAULT_TEST_CLASSES = Paths.get("target", "test-classes");
+
+  private final ServerSocket serverSocket;
+  private final URL[] testClassPaths;
+  private final AtomicInteger runs = new AtomicInteger();
+  private volatile boolean stopped;
+
+  /**
+   * @param port           the loopback port to listen on, or 0 for any free port
+   * @param testClassPaths directories or jars of tests loaded afresh each run
+   */
+  public RunDaemon(int port, List<Path> testClassPaths) throws IOException {
+    this.testClassPaths = toUrls(testClassPaths);
+    this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+  }
+
+  /**
+   * Warms up browsers as for a suite, then runs tests as requested until
+   * sent {@code stop} or the JVM is shut down.
+   *
+   * @param args directories of compiled tests, by default
+   *             {@code target/test-classes}
+   */
+  public static void main(String[] args) throws IOException {
+    if (!Property.DRIVER_LIFECYCLE.isSpecified() && !Property.REUSE_BROWSER.isSpecified()) {
+      System.setProperty("driverLifecycle", "pool");
+      Property.reload();
+    }
+    List<Path> testClassPaths = args.length == 0
+        ? Collections.singletonList(DEFAULT_TEST_CLASSES)
+        : Collections.unmodifiableList(
+            Arrays.stream(args).map(Paths::get).collect(Collectors.toList()));
+    UITestLifecycle.keepBetweenSuites();
+    UITestLifecycle.get().beforeSuite();
+    RunDaemon daemon = new RunDaemon(
+        Property.DAEMON_PORT.getIntWithDefault(DEFAULT_PORT), testClassPaths);
+    // however the JVM exits, close the daemon and quit the kept browsers
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      daemon.close();
+      UITestLifecycle.shutdownKeptSuites();
+    }));
+    logger.info("Run daemon listening on port {}", daemon.getPort());
+    try {
+      daemon.serve();
+    } catch (IOException | RuntimeException e) {
+      logger.error("Run daemon failed", e);
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Handles requests, one at a time, until sent {@code stop} or closed.
+   */
+  public void serve() throws IOException {
+    while (!stopped) {
+      try (Socket client = serverSocket.accept()) {
+        handle(client);
+      } catch (SocketException e) {
+        if (!stopped) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private void handle(Socket client) throws IOException {
+    BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), UTF_8));
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(client.getOutputStream(), UTF_8));
+    RunRequest request;
+    try {
+      request = RunRequest.read(in);
+    } catch (IllegalArgumentException e) {
+      out.println("ERROR " + e.getMessage());
+      out.flush();
+      return;
+    }
+    if (request.isStop()) {
+      out.println("STOPPING");
+      out.flush();
+      stopped = true;
+      return;
+    }
+    run(request, new ResultStreamer(out));
+  }
+
+  /**
+   * Runs the requested tests with TestNG, with the requested System
+   * properties, in classes loaded afresh.
+   */
+  void run(RunRequest request, ResultStreamer streamer) {
+    int run = runs.incrementAndGet();
+    logger.info("Starting run {} of {}", run, request.getTests().keySet());
+    Map<String, String> previousProperties = setProperties(request.getProperties());
+    Thread thread = Thread.currentThread();
+    ClassLoader previousLoader = thread.getContextClassLoader();
+    try (ReloadingClassLoader loader =
+             new ReloadingClassLoader(testClassPaths, RunDaemon.class.getClassLoader())) {
+      thread.setContextClassLoader(loader);
+      TestNG testng = new TestNG(false);
+      testng.setXmlSuites(Collections.singletonList(createSuite(run, request, loader)));
+      testng.addListener(streamer);
+      testng.run();
+      streamer.send(streamer.summary());
+    } catch (ClassNotFoundException e) {
+      streamer.send("ERROR Test class not found: " + e.getMessage());
+    } catch (IOException | RuntimeException e) {
+      logger.error("Run {} failed.", run, e);
+      streamer.send("ERROR " + e);
+    } finally {
+      thread.setContextClassLoader(previousLoader);
+      setProperties(previousProperties);
+      logger.info("Finished run {}", run);
+    }
+  }
+
+  private static XmlSuite createSuite(int run, RunRequest request, ClassLoader loader)
+      throws ClassNotFoundException {
+    XmlSuite suite = new XmlSuite();
+    suite.setName("Run " + run);
+    int threads = Property.THREADS.getIntWithDefault(1);
+    if (threads > 1) {
+      suite.setParallel(XmlSuite.ParallelMode.METHODS);
+      suite.setThreadCount(threads);
+    }
+    XmlTest test = new XmlTest(suite);
+    test.setName("Run " + run);
+    List<XmlClass> classes = new ArrayList<>();
+    for (Map.Entry<String, List<String>> tests : request.getTests().entrySet()) {
+      XmlClass xmlClass = new XmlClass(Class.forName(tests.getKey(), true, loader));
+      xmlClass.setIncludedMethods(tests.getValue().stream()
+          .map(XmlInclude::new)
+          .collect(Collectors.toList()));
+      classes.add(xmlClass);
+    }
+    test.setXmlClasses(classes);
+    return suite;
+  }
+
+  /**
+   * Sets, or clears when null, System properties and reloads {@link Property}.
+   *
+   * @return the previous values of the properties
+   */
+  private static Map<String, String> setProperties(Map<String, String> properties) {
+    Map<String, String> previous = new HashMap<>();
+    properties.forEach((key, value) -> {
+      previous.put(key, System.getProperty(key));
+      if (value == null) {
+        System.clearProperty(key);
+      } else {
+        System.setProperty(key, value);
+      }
+    });
+    if (!properties.isEmpty()) {
+      Property.reload();
+    }
+    return previous;
+  }
+
+  private static URL[] toUrls(List<Path> paths) throws MalformedURLException {
+    List<URL> urls = new ArrayList<>();
+    for (Path path : paths) {
+      if (!Files.exists(path)) {
+        logger.warn("Test class path {} does not exist", path.toAbsolutePath());
+      }
+      urls.add(path.toUri().toURL());
+    }
+    return urls.toArray(new URL[0]);
+  }
+
+  /**
+   * @return the port listened on
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Stops accepting requests, after any run in progress.
+   */
+  @Override
+  public void close() {
+    stopped = true;
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      logger.debug("Failed to close run daemon socket.", e);
+    }
+  }
+}
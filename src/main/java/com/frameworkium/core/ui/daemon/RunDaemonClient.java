@@ -0,0 +1,90 @@
+package com.frameworkium.core.ui.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.frameworkium.core.common.properties.Property;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a run to the {@link RunDaemon} and prints its results as they arrive.
+ * For example:
+ * <pre>
+ * java -cp ... com.frameworkium.core.ui.daemon.RunDaemonClient \
+ *     com.example.tests.LoginTest com.example.tests.SearchTest#searchByName \
+ *     -Dbrowser=firefox
+ * </pre>
+ * runs every test of {@code LoginTest} and one of {@code SearchTest}, with the
+ * given properties, and exits with status 1 if any test failed. Pass
+ * {@code --stop} to shut the daemon down.
+ */
+public final class RunDaemonClient {
+
+  private RunDaemonClient() {
+    // hide default constructor for this util class
+  }
+
+  public static void main(String[] args) throws IOException {
+    boolean passed = send(
+        toRequest(args),
+        Property.DAEMON_PORT.getIntWithDefault(RunDaemon.DEFAULT_PORT),
+        System.out);
+    System.exit(passed ? 0 : 1);
+  }
+
+  /**
+   * @param args test classes, {@code class#method}s, {@code -Dkey=value}
+   *             properties or {@code --stop}
+   * @return the lines of the request
+   */
+  static List<String> toRequest(String... args) {
+    List<String> request = new ArrayList<>();
+    for (String arg : args) {
+      if ("--stop".equals(arg)) {
+        request.add(RunRequest.STOP);
+        return request;
+      } else if (arg.startsWith("-D")) {
+        request.add("property " + arg.substring(2));
+      } else if (arg.contains("#")) {
+        request.add("method " + arg);
+      } else {
+        request.add("class " + arg);
+      }
+    }
+    request.add(RunRequest.RUN);
+    return request;
+  }
+
+  /**
+   * Sends the request and prints each line of the response.
+   *
+   * @return whether the run finished without failures or errors
+   */
+  static boolean send(List<String> request, int port, PrintStream printer) throws IOException {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), UTF_8));
+      request.forEach(out::println);
+      out.flush();
+      BufferedReader in =
+          new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+      boolean passed = true;
+      String line;
+      while ((line = in.readLine()) != null) {
+        printer.println(line);
+        if (line.startsWith("FAILED") || line.startsWith("CONFIGURATION_FAILED")
+            || line.startsWith("ERROR")) {
+          passed = false;
+        }
+      }
+      return passed;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.frameworkium.core.ui.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A request sent to the {@link RunDaemon}, one instruction per line:
+ * <pre>
+ * class com.example.tests.LoginTest
+ * method com.example.tests.SearchTest#searchByName
+ * property browser=firefox
+ * run
+ * </pre>
+ * ending with {@code run}, or {@code stop} to shut the daemon down.
+ */
+public final class RunRequest {
+
+  static final String RUN = "run";
+  static final String STOP = "stop";
+
+  /** Test class name to the methods to run, or empty to run them all. */
+  private final Map<String, List<String>> tests = new LinkedHashMap<>();
+  private final Set<String> wholeClasses = new HashSet<>();
+  private final Map<String, String> properties = new LinkedHashMap<>();
+  private boolean stop;
+
+  /**
+   * Reads a request up to and including its {@code run} or {@code stop} line.
+   *
+   * @throws IllegalArgumentException if a line is not an instruction, or the
+   *                                  request ends before {@code run}
+   */
+  static RunRequest read(BufferedReader reader) throws IOException {
+    RunRequest request = new RunRequest();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (RUN.equals(line)) {
+        if (request.tests.isEmpty()) {
+          throw new IllegalArgumentException("No test classes or methods to run");
+        }
+        return request;
+      }
+      if (STOP.equals(line)) {
+        request.stop = true;
+        return request;
+      }
+      request.parse(line);
+    }
+    throw new IllegalArgumentException("Request ended before '" + RUN + "'");
+  }
+
+  private void parse(String line) {
+    String[] instruction = line.split("\\s+", 2);
+    if (instruction.length < 2) {
+      throw new IllegalArgumentException("Missing argument in '" + line + "'");
+    }
+    String argument = instruction[1].trim();
+    switch (instruction[0]) {
+      case "class":
+        // every method of the class runs, whichever methods were requested
+        wholeClasses.add(argument);
+        tests.put(argument, new ArrayList<>());
+        break;
+      case "method":
+        int hash = argument.indexOf('#');
+        if (hash < 1 || hash == argument.length() - 1) {
+          throw new IllegalArgumentException("Expected class#method but was '" + argument + "'");
+        }
+        String className = argument.substring(0, hash);
+        if (!wholeClasses.contains(className)) {
+          tests.computeIfAbsent(className, c -> new ArrayList<>())
+              .add(argument.substring(hash + 1));
+        }
+        break;
+      case "property":
+        int equals = argument.indexOf('=');
+        if (equals < 1) {
+          throw new IllegalArgumentException("Expected key=value but was '" + argument + "'");
+        }
+        properties.put(argument.substring(0, equals), argument.substring(equals + 1));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown instruction '" + line + "'");
+    }
+  }
+
+  /**
+   * @return test class names to the methods to run, empty to run them all
+   */
+  public Map<String, List<String>> getTests() {
+    return Collections.unmodifiableMap(tests);
+  }
+
+  /**
+   * @return System properties to set for this run only
+   */
+  public Map<String, String> getProperties() {
+    return Collections.unmodifiableMap(properties);
+  }
+
+  /**
+   * @return whether the daemon should shut down rather than run tests
+   */
+  public boolean isStop() {
+    return stop;
+  }
+}
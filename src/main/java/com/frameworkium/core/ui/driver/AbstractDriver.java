@@ -1,18 +1,31 @@
 package com.frameworkium.core.ui.driver;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.ui.capture.ScreenshotCapture;
+import com.frameworkium.core.ui.driver.lifecycle.AdaptiveConcurrency;
+import com.frameworkium.core.ui.driver.profiles.ProfileTemplate;
 import com.frameworkium.core.ui.driver.remotes.BrowserStack;
 import com.frameworkium.core.ui.driver.remotes.Sauce;
+import com.frameworkium.core.ui.driver.services.ProcessReaper;
+import com.frameworkium.core.ui.js.AnimationFreezer;
 import com.frameworkium.core.ui.listeners.CaptureListener;
 import com.frameworkium.core.ui.listeners.LoggingListener;
+import com.frameworkium.core.ui.proxy.CachingProxy;
 import com.frameworkium.core.ui.proxy.SeleniumProxyFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.support.events.EventFiringWebDriver;
 
@@ -21,9 +34,16 @@ public abstract class AbstractDriver implements Driver {
   protected static final Logger logger = LogManager.getLogger();
 
   private EventFiringWebDriver webDriverWrapper;
+  private BrowserSpec browserSpec;
+  private final List<Runnable> quitCleanups = new CopyOnWriteArrayList<>();
 
   private static Capabilities addProxyIfRequired(Capabilities caps) {
-    if (Property.PROXY.isSpecified()) {
+    Optional<CachingProxy> cachingProxy = CachingProxy.getShared();
+    if (cachingProxy.isPresent()) {
+      // which sends requests via any Property.PROXY itself
+      return caps.merge(new ImmutableCapabilities(
+          CapabilityType.PROXY, cachingProxy.get().toSeleniumProxy()));
+    } else if (Property.PROXY.isSpecified()) {
       return caps.merge(createProxyCapabilities(Property.PROXY.getValue()));
     } else {
       return caps;
@@ -36,12 +56,73 @@ public abstract class AbstractDriver implements Driver {
         SeleniumProxyFactory.createProxy(proxyProperty));
   }
 
-  private static boolean isMaximiseRequired() {
+  private boolean isMaximiseRequired() {
     boolean ableToMaximise = !Sauce.isDesired()
         && !BrowserStack.isDesired()
         && !Driver.isNative();
 
-    return ableToMaximise && Property.MAXIMISE.getBoolean();
+    return ableToMaximise
+        && Property.MAXIMISE.getBoolean()
+        && !isWindowSizeSet();
+  }
+
+  /**
+   * @return true if the capabilities already set the window size, e.g. by
+   *     {@link FastMode}, so the browser is not maximised
+   */
+  protected boolean isWindowSizeSet() {
+    return false;
+  }
+
+  /**
+   * @return the browser spec this driver is for, by default from properties
+   */
+  protected BrowserSpec getBrowserSpec() {
+    if (browserSpec == null) {
+      browserSpec = BrowserSpec.fromProperties();
+    }
+    return browserSpec;
+  }
+
+  /**
+   * @param browserSpec the browser spec to use when creating capabilities
+   */
+  public void setBrowserSpec(BrowserSpec browserSpec) {
+    this.browserSpec = browserSpec;
+  }
+
+  /**
+   * Makes a copy of the profile template for this browser, which is deleted
+   * when the browser quits.
+   *
+   * @param template the profile template for this type of browser
+   * @return the copy
+   */
+  protected Path createCopy(ProfileTemplate template) {
+    Path copy = template.createCopy();
+    onQuit(() -> template.deleteCopy(copy));
+    return copy;
+  }
+
+  /**
+   * Runs the cleanup once the browser has quit, or failed to start, e.g. to
+   * delete its temporary files.
+   *
+   * @param cleanup the cleanup to run
+   */
+  protected void onQuit(Runnable cleanup) {
+    quitCleanups.add(cleanup);
+  }
+
+  private void runQuitCleanups() {
+    for (Runnable cleanup : quitCleanups) {
+      try {
+        cleanup.run();
+      } catch (RuntimeException e) {
+        logger.debug("Failed to clean up after browser quit.", e);
+      }
+    }
+    quitCleanups.clear();
   }
 
   @Override
@@ -53,14 +134,42 @@ public abstract class AbstractDriver implements Driver {
    * Creates the Wrapped Driver object and maximises if required.
    */
   public void initialise() {
-    this.webDriverWrapper = setupEventFiringWebDriver(getCapabilities());
+    final long start = System.nanoTime();
+    try {
+      Supplier<EventFiringWebDriver> create =
+          () -> setupEventFiringWebDriver(getCapabilities());
+      // remote browsers don't start any processes on this machine
+      this.webDriverWrapper = DriverSetup.useRemoteDriver()
+          ? create.get()
+          : ProcessReaper.track(this, create, AbstractDriver::getSessionCapabilities);
+    } catch (RuntimeException e) {
+      runQuitCleanups();
+      throw e;
+    }
     maximiseBrowserIfRequired();
+    if (!Driver.isNative() && AnimationFreezer.isEnabled()) {
+      AnimationFreezer.freezeOnNewDocuments(this.webDriverWrapper);
+    }
+    long startupNanos = System.nanoTime() - start;
+    FastMode.recordStartup(startupNanos);
+    AdaptiveConcurrency.getShared()
+        .ifPresent(concurrency -> concurrency.recordStartup(startupNanos));
+    logger.debug("Browser started in {}ms", NANOSECONDS.toMillis(startupNanos));
   }
 
   private EventFiringWebDriver setupEventFiringWebDriver(Capabilities capabilities) {
     Capabilities caps = addProxyIfRequired(capabilities);
     logger.debug("Browser Capabilities: " + caps);
-    EventFiringWebDriver eventFiringWD = new EventFiringWebDriver(getWebDriver(caps));
+    EventFiringWebDriver eventFiringWD = new EventFiringWebDriver(getWebDriver(caps)) {
+      @Override
+      public void quit() {
+        try {
+          super.quit();
+        } finally {
+          runQuitCleanups();
+        }
+      }
+    };
     eventFiringWD.register(new LoggingListener());
     if (ScreenshotCapture.isRequired()) {
       eventFiringWD.register(new CaptureListener());
@@ -71,6 +180,13 @@ public abstract class AbstractDriver implements Driver {
     return eventFiringWD;
   }
 
+  private static Capabilities getSessionCapabilities(EventFiringWebDriver eventFiringWD) {
+    WebDriver webDriver = eventFiringWD.getWrappedDriver();
+    return webDriver instanceof HasCapabilities
+        ? ((HasCapabilities) webDriver).getCapabilities()
+        : new ImmutableCapabilities();
+  }
+
   private void maximiseBrowserIfRequired() {
     if (isMaximiseRequired()) {
       this.webDriverWrapper.manage().window().maximize();
@@ -0,0 +1,101 @@
+package com.frameworkium.core.ui.driver;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.annotations.UseBrowser;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Describes the browser a test needs: browser, version, platform and whether
+ * it is headless. Used to key pools of {@link Driver}s.
+ */
+public final class BrowserSpec {
+
+  private final DriverSetup.Browser browser;
+  private final String version;
+  private final String platform;
+  private final boolean headless;
+
+  public BrowserSpec(
+      DriverSetup.Browser browser, String version, String platform, boolean headless) {
+    this.browser = Objects.requireNonNull(browser);
+    this.version = StringUtils.trimToNull(version);
+    this.platform = StringUtils.trimToNull(platform);
+    this.headless = headless;
+  }
+
+  /**
+   * @return the spec described by the browser, browserVersion, platform,
+   *     headless and customBrowserImpl properties
+   */
+  public static BrowserSpec fromProperties() {
+    return new BrowserSpec(
+        DriverSetup.getBrowserTypeFromProperty(),
+        Property.BROWSER_VERSION.getValue(),
+        Property.PLATFORM.getValue(),
+        Property.HEADLESS.getBoolean());
+  }
+
+  /**
+   * @param useBrowser the annotation declaring the required browser
+   * @return the spec from the annotation, with empty values taken from
+   *     {@link #fromProperties()}, headless if either the annotation or the
+   *     headless property asks for it
+   */
+  public static BrowserSpec from(UseBrowser useBrowser) {
+    BrowserSpec defaults = fromProperties();
+    return new BrowserSpec(
+        useBrowser.value(),
+        StringUtils.defaultIfEmpty(useBrowser.version(), defaults.version),
+        StringUtils.defaultIfEmpty(useBrowser.platform(), defaults.platform),
+        useBrowser.headless() || defaults.headless);
+  }
+
+  public DriverSetup.Browser getBrowser() {
+    return browser;
+  }
+
+  public Optional<String> getVersion() {
+    return Optional.ofNullable(version);
+  }
+
+  public Optional<String> getPlatform() {
+    return Optional.ofNullable(platform);
+  }
+
+  public boolean isHeadless() {
+    return headless;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    BrowserSpec that = (BrowserSpec) o;
+    return headless == that.headless
+        && browser == that.browser
+        && Objects.equals(version, that.version)
+        && Objects.equals(platform, that.platform);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(browser, version, platform, headless);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(browser.name().toLowerCase());
+    getVersion().ifPresent(v -> sb.append(' ').append(v));
+    getPlatform().ifPresent(p -> sb.append(" on ").append(p));
+    if (headless) {
+      sb.append(" (headless)");
+    }
+    return sb.toString();
+  }
+}
@@ -4,6 +4,7 @@ import static com.frameworkium.core.common.properties.Property.APP_PATH;
 
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.support.events.EventFiringWebDriver;
 
 public interface Driver {
@@ -22,6 +23,20 @@ public interface Driver {
     return APP_PATH.isSpecified();
   }
 
+  /**
+   * Removes any wrappers, e.g. {@link EventFiringWebDriver}, from a driver.
+   *
+   * @param driver the possibly wrapped driver
+   * @return the underlying driver, e.g. a {@code ChromeDriver}
+   */
+  static WebDriver unwrap(WebDriver driver) {
+    WebDriver unwrapped = driver;
+    while (unwrapped instanceof WrapsDriver) {
+      unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+    }
+    return unwrapped;
+  }
+
   /**
    * Method to set-up the driver object.
    */
@@ -12,8 +12,10 @@ import com.frameworkium.core.ui.driver.drivers.LegacyFirefoxImpl;
 import com.frameworkium.core.ui.driver.drivers.SafariImpl;
 import com.frameworkium.core.ui.driver.drivers.SauceImpl;
 import com.frameworkium.core.ui.driver.remotes.BrowserStack;
+import com.frameworkium.core.ui.driver.remotes.GridAdmission;
 import com.frameworkium.core.ui.driver.remotes.Sauce;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Capabilities;
@@ -24,27 +26,51 @@ public class DriverSetup {
   protected static final Logger logger = LogManager.getLogger();
 
   /**
-   * @return An uninitialised desired {@link Driver} implementation.
+   * @return An initialised desired {@link Driver} implementation.
    */
   public static Driver instantiateDriver() {
-    Driver driver = createDriverImpl(getBrowserTypeFromProperty());
+    return instantiateDriver(BrowserSpec.fromProperties());
+  }
+
+  /**
+   * @param browserSpec the browser, version, platform and headless-ness required
+   * @return An initialised {@link Driver} implementation for the given spec.
+   */
+  public static Driver instantiateDriver(BrowserSpec browserSpec) {
+    Driver driver = createDriverImpl(browserSpec.getBrowser());
+    applyBrowserSpec(driver, browserSpec);
     if (useRemoteDriver()) {
-      driver = instantiateDesiredRemote(driver);
+      driver = instantiateDesiredRemote(driver, browserSpec);
+      applyBrowserSpec(driver, browserSpec);
+    }
+    Optional<GridAdmission> gridAdmission = driver instanceof GridImpl
+        ? GridAdmission.getShared()
+        : Optional.empty();
+    if (gridAdmission.isPresent()) {
+      gridAdmission.get().admit(driver::initialise);
+    } else {
+      driver.initialise();
     }
-    driver.initialise();
     return driver;
   }
 
+  private static void applyBrowserSpec(Driver driver, BrowserSpec browserSpec) {
+    if (driver instanceof AbstractDriver) {
+      ((AbstractDriver) driver).setBrowserSpec(browserSpec);
+    }
+  }
+
   /**
    * Uses parameters to determine which browser/remote/platform to use.
    *
-   * @param driver the desired (non-remote) driver implementation
+   * @param driver      the desired (non-remote) driver implementation
+   * @param browserSpec the browser, version, platform and headless-ness required
    * @return The (potentially) remote driver implementation based on parameters
    */
-  private static Driver instantiateDesiredRemote(Driver driver) {
+  private static Driver instantiateDesiredRemote(Driver driver, BrowserSpec browserSpec) {
 
     Capabilities capabilities = driver.getCapabilities();
-    Platform platform = getPlatformType();
+    Platform platform = getPlatformType(browserSpec);
     switch (getRemoteType()) {
       case SAUCE:
         return new SauceImpl(platform, capabilities);
@@ -95,15 +121,13 @@ public class DriverSetup {
         || BrowserStack.isDesired();
   }
 
-  private static Platform getPlatformType() {
-    if (Property.PLATFORM.isSpecified()) {
-      return Platform.valueOf(Property.PLATFORM.getValue().toUpperCase());
-    } else {
-      return Platform.NONE;
-    }
+  private static Platform getPlatformType(BrowserSpec browserSpec) {
+    return browserSpec.getPlatform()
+        .map(platform -> Platform.valueOf(platform.toUpperCase()))
+        .orElse(Platform.NONE);
   }
 
-  private static Browser getBrowserTypeFromProperty() {
+  static Browser getBrowserTypeFromProperty() {
     if (Property.CUSTOM_BROWSER_IMPL.isSpecified()) {
       return Browser.CUSTOM;
     } else if (Property.BROWSER.isSpecified()) {
@@ -0,0 +1,228 @@
+package com.frameworkium.core.ui.driver;
+
+import com.frameworkium.core.common.properties.Property;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Performance presets for local browsers, selected by the
+ * {@link Property#FAST_MODE} property.
+ *
+ * <p>{@code fastMode=true} enables every {@link Part} except
+ * {@link Part#IMAGES}, which changes what tests see. Alternatively list the
+ * parts to enable, e.g. {@code fastMode=gpu,window_size}, or exclude parts,
+ * e.g. {@code fastMode=true,-gpu}.
+ *
+ * <p>Browser startup times are recorded with the enabled parts and logged at
+ * the end of the suite, so runs with different parts can be compared.
+ */
+public final class FastMode {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String DEFAULT_WINDOW_SIZE = "1920x1080";
+
+  private static final AtomicLong startups = new AtomicLong();
+  private static final AtomicLong startupNanos = new AtomicLong();
+  private static final AtomicLong maxStartupNanos = new AtomicLong();
+
+  private FastMode() {
+    // hide default constructor for this util class
+  }
+
+  /**
+   * The parts of the fast mode preset.
+   */
+  public enum Part {
+    /** Prefetching, safe browsing, telemetry and other background requests. */
+    BACKGROUND_NETWORKING,
+    /** Browser component and add-on updates. */
+    COMPONENT_UPDATE,
+    /** Extensions and built-in add-ons. */
+    EXTENSIONS,
+    /** GPU acceleration, which headless agents rarely have. */
+    GPU,
+    /** Smooth scrolling animations. */
+    SMOOTH_SCROLLING,
+    /** Loading and decoding images, only enabled when listed explicitly. */
+    IMAGES,
+    /** Fixed window size in capabilities instead of maximising afterwards. */
+    WINDOW_SIZE
+  }
+
+  /**
+   * @return the parts enabled by {@link Property#FAST_MODE}
+   * @throws IllegalArgumentException if the property names an unknown part
+   */
+  public static Set<Part> getParts() {
+    return Property.FAST_MODE.isSpecified()
+        ? parseParts(Property.FAST_MODE.getValue())
+        : EnumSet.noneOf(Part.class);
+  }
+
+  static Set<Part> parseParts(String fastMode) {
+    Set<Part> parts = EnumSet.noneOf(Part.class);
+    for (String value : fastMode.split(",")) {
+      String part = value.trim().toUpperCase();
+      if (part.isEmpty() || part.equals("FALSE")) {
+        continue;
+      }
+      if (part.equals("TRUE")) {
+        parts.addAll(EnumSet.complementOf(EnumSet.of(Part.IMAGES)));
+      } else if (part.startsWith("-")) {
+        parts.remove(Part.valueOf(part.substring(1)));
+      } else {
+        parts.add(Part.valueOf(part));
+      }
+    }
+    return parts;
+  }
+
+  public static boolean isEnabled(Part part) {
+    return getParts().contains(part);
+  }
+
+  /**
+   * Applies the enabled parts to Chrome or Edge options.
+   *
+   * @param options the options to update
+   */
+  public static void apply(ChromiumOptions<?> options) {
+    Set<Part> parts = getParts();
+    Map<String, Object> prefs = new HashMap<>();
+    for (Part part : parts) {
+      switch (part) {
+        case BACKGROUND_NETWORKING:
+          options.addArguments("--disable-background-networking",
+              "--disable-default-apps", "--disable-sync", "--no-first-run");
+          break;
+        case COMPONENT_UPDATE:
+          options.addArguments("--disable-component-update");
+          break;
+        case EXTENSIONS:
+          options.addArguments("--disable-extensions");
+          break;
+        case GPU:
+          options.addArguments("--disable-gpu");
+          break;
+        case SMOOTH_SCROLLING:
+          options.addArguments("--disable-smooth-scrolling");
+          break;
+        case IMAGES:
+          prefs.put("profile.managed_default_content_settings.images", 2);
+          break;
+        case WINDOW_SIZE:
+          options.addArguments("--window-size=" + getWindowSize().replace('x', ','));
+          break;
+        default:
+          break;
+      }
+    }
+    if (!prefs.isEmpty()) {
+      options.setExperimentalOption("prefs", prefs);
+    }
+  }
+
+  /**
+   * Applies the enabled parts to Firefox options.
+   *
+   * @param options the options to update
+   */
+  public static void apply(FirefoxOptions options) {
+    for (Part part : getParts()) {
+      getFirefoxPreferences(part).forEach(options::addPreference);
+      if (part == Part.WINDOW_SIZE) {
+        String[] size = getWindowSize().split("x");
+        options.addArguments("--width=" + size[0], "--height=" + size[1]);
+      }
+    }
+  }
+
+  private static Map<String, Object> getFirefoxPreferences(Part part) {
+    switch (part) {
+      case BACKGROUND_NETWORKING:
+        return ImmutableMap.<String, Object>builder()
+            .put("network.prefetch-next", false)
+            .put("network.dns.disablePrefetch", true)
+            .put("network.http.speculative-parallel-limit", 0)
+            .put("browser.safebrowsing.malware.enabled", false)
+            .put("browser.safebrowsing.phishing.enabled", false)
+            .put("datareporting.healthreport.uploadEnabled", false)
+            .put("toolkit.telemetry.enabled", false)
+            .put("app.normandy.enabled", false)
+            .build();
+      case COMPONENT_UPDATE:
+        return ImmutableMap.of(
+            "app.update.auto", false,
+            "extensions.update.enabled", false,
+            "extensions.systemAddon.update.enabled", false,
+            "browser.search.update", false);
+      case EXTENSIONS:
+        return ImmutableMap.of(
+            "extensions.pocket.enabled", false,
+            "extensions.screenshots.disabled", true,
+            "extensions.formautofill.addresses.enabled", false);
+      case GPU:
+        return ImmutableMap.of("layers.acceleration.disabled", true);
+      case SMOOTH_SCROLLING:
+        return ImmutableMap.of("general.smoothScroll", false);
+      case IMAGES:
+        return ImmutableMap.of("permissions.default.image", 2);
+      default:
+        return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * @return the window size from {@link Property#RESOLUTION}, e.g.
+   *     {@code 1920x1080}, which is also the default
+   */
+  private static String getWindowSize() {
+    String resolution = Property.RESOLUTION.isSpecified()
+        ? Property.RESOLUTION.getValue().trim().toLowerCase()
+        : DEFAULT_WINDOW_SIZE;
+    return resolution.matches("\\d+x\\d+") ? resolution : DEFAULT_WINDOW_SIZE;
+  }
+
+  static void recordStartup(long nanos) {
+    startups.incrementAndGet();
+    startupNanos.addAndGet(nanos);
+    maxStartupNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Forgets the browser startups recorded, e.g. between suites run in one JVM.
+   */
+  public static void resetStartups() {
+    startups.set(0);
+    startupNanos.set(0);
+    maxStartupNanos.set(0);
+  }
+
+  /**
+   * Logs the mean and max browser startup time for the suite, with the fast
+   * mode parts in use.
+   */
+  public static void logStartupSummary() {
+    long count = startups.get();
+    if (count == 0) {
+      return;
+    }
+    logger.info(
+        "Browser startup over {} browsers: mean {}ms, max {}ms, fast mode parts {}",
+        count,
+        TimeUnit.NANOSECONDS.toMillis(startupNanos.get() / count),
+        TimeUnit.NANOSECONDS.toMillis(maxStartupNanos.get()),
+        Arrays.toString(getParts().toArray()));
+  }
+}
@@ -0,0 +1,128 @@
+package com.frameworkium.core.ui.driver;
+
+import com.frameworkium.core.common.properties.Property;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Blocks requests to the {@link Property#BLOCKED_URLS}, e.g. analytics, chat
+ * widgets and ad tags, in local Chromium browsers using DevTools.
+ *
+ * <p>URLs are comma separated and may use {@code *} as a wildcard, e.g.
+ * {@code *google-analytics.com*,*doubleclick.net*}.
+ */
+public final class RequestBlocker {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  /** The reason DevTools gives for requests blocked by {@code setBlockedURLs}. */
+  private static final String BLOCKED_BY_DEVTOOLS = "inspector";
+
+  private static final Map<WebDriver, RequestBlocker> blockers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final AtomicInteger blockedRequests = new AtomicInteger();
+
+  private RequestBlocker() {
+  }
+
+  /**
+   * Blocks the {@link Property#BLOCKED_URLS} in a new browser, if it is a
+   * Chromium browser.
+   *
+   * @param driver the new browser
+   */
+  public static void blockConfiguredUrls(WebDriver driver) {
+    if (!Property.BLOCKED_URLS.isSpecified() || !(driver instanceof ChromiumDriver)) {
+      return;
+    }
+    block((ChromiumDriver) driver, configuredUrls());
+  }
+
+  /**
+   * Blocks the {@link Property#BLOCKED_URLS} in the browser's current window,
+   * e.g. the page of a new browser context, if it is a Chromium browser.
+   * Requests blocked there are not counted.
+   *
+   * @param driver the browser, possibly wrapped, e.g. by an
+   *               {@link org.openqa.selenium.support.events.EventFiringWebDriver}
+   */
+  public static void blockConfiguredUrlsInCurrentWindow(WebDriver driver) {
+    WebDriver unwrapped = Driver.unwrap(driver);
+    if (!Property.BLOCKED_URLS.isSpecified() || !(unwrapped instanceof ChromiumDriver)) {
+      return;
+    }
+    try {
+      blockWithoutCounting((ChromiumDriver) unwrapped, configuredUrls());
+    } catch (WebDriverException e) {
+      logger.warn("Unable to block requests in the current window.");
+      logger.debug("Failed to block requests in the current window.", e);
+    }
+  }
+
+  private static List<String> configuredUrls() {
+    return Arrays.stream(Property.BLOCKED_URLS.getValue().split(","))
+        .map(String::trim)
+        .filter(url -> !url.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  static void block(ChromiumDriver driver, List<String> urls) {
+    RequestBlocker blocker = new RequestBlocker();
+    try {
+      DevTools devTools = driver.getDevTools();
+      devTools.createSessionIfThereIsNotOne();
+      devTools.addListener(
+          new Event<>(
+              "Network.loadingFailed",
+              input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+          blocker::onLoadingFailed);
+      devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+      devTools.send(new Command<>("Network.setBlockedURLs", ImmutableMap.of("urls", urls)));
+      blockers.put(driver, blocker);
+    } catch (RuntimeException e) {
+      // e.g. no DevTools support for this browser version, block without counting
+      logger.debug("Unable to count blocked requests using DevTools.", e);
+      blockWithoutCounting(driver, urls);
+    }
+    logger.debug("Blocking requests to {}", urls);
+  }
+
+  /** Blocks requests using the driver's DevTools commands, which go to its current window. */
+  private static void blockWithoutCounting(ChromiumDriver driver, List<String> urls) {
+    driver.executeCdpCommand("Network.enable", Collections.emptyMap());
+    driver.executeCdpCommand("Network.setBlockedURLs", ImmutableMap.of("urls", urls));
+  }
+
+  void onLoadingFailed(Map<String, Object> loadingFailed) {
+    if (BLOCKED_BY_DEVTOOLS.equals(loadingFailed.get("blockedReason"))) {
+      blockedRequests.incrementAndGet();
+    }
+  }
+
+  /**
+   * @param driver the browser, possibly wrapped, e.g. by an
+   *               {@link org.openqa.selenium.support.events.EventFiringWebDriver}
+   * @return the number of requests blocked since the last call, zero if the
+   *     browser is not blocking requests
+   */
+  public static int takeBlockedCount(WebDriver driver) {
+    RequestBlocker blocker = blockers.get(Driver.unwrap(driver));
+    return blocker == null ? 0 : blocker.blockedRequests.getAndSet(0);
+  }
+}
@@ -0,0 +1,174 @@
+package com.frameworkium.core.ui.driver;
+
+import com.frameworkium.core.ui.annotations.StubRequest;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Answers, or delays, browser requests whose URL matches a pattern, so page
+ * loads don't wait on slow services which are not under test.
+ *
+ * <p>For example, to answer price requests from a fixture after 100ms:
+ * <pre>{@code
+ * UITestLifecycle.get().stubRequests(
+ *     RequestStub.forUrl("*://api.example.com/prices*")
+ *         .withFixture("fixtures/prices.json")
+ *         .withDelay(Duration.ofMillis(100)));
+ * }</pre>
+ *
+ * @see StubRequest
+ */
+public class RequestStub {
+
+  private final String urlPattern;
+  private final Pattern urlRegex;
+  private String fixture;
+  private byte[] body;
+  private int status = 200;
+  private String contentType;
+  private Duration delay = Duration.ZERO;
+
+  private RequestStub(String urlPattern) {
+    this.urlPattern = urlPattern;
+    this.urlRegex = toRegex(urlPattern);
+  }
+
+  /**
+   * @param urlPattern the URL pattern, where {@code *} matches any characters
+   *                   and {@code ?} matches one character
+   * @return a stub which sends matching requests to the server
+   */
+  public static RequestStub forUrl(String urlPattern) {
+    return new RequestStub(urlPattern);
+  }
+
+  /**
+   * @return a stub with the settings of the annotation
+   */
+  public static RequestStub from(StubRequest stubRequest) {
+    RequestStub stub = forUrl(stubRequest.value())
+        .withStatus(stubRequest.status())
+        .withDelay(Duration.ofMillis(stubRequest.delayMillis()));
+    if (!stubRequest.fixture().isEmpty()) {
+      stub.withFixture(stubRequest.fixture());
+    }
+    if (!stubRequest.contentType().isEmpty()) {
+      stub.withContentType(stubRequest.contentType());
+    }
+    return stub;
+  }
+
+  /**
+   * @param fixture the classpath resource to answer matching requests with
+   * @throws IllegalArgumentException if the resource does not exist
+   */
+  public RequestStub withFixture(String fixture) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    try (InputStream resource = classLoader.getResourceAsStream(fixture)) {
+      if (resource == null) {
+        throw new IllegalArgumentException("Request stub fixture not found: " + fixture);
+      }
+      this.body = ByteStreams.toByteArray(resource);
+      this.fixture = fixture;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read request stub fixture " + fixture, e);
+    }
+    return this;
+  }
+
+  /**
+   * @param status the status code to answer with, 200 by default
+   */
+  public RequestStub withStatus(int status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * @param contentType the content type to answer with, by default guessed
+   *                    from the fixture name
+   */
+  public RequestStub withContentType(String contentType) {
+    this.contentType = contentType;
+    return this;
+  }
+
+  /**
+   * @param delay the time to hold matching requests for
+   */
+  public RequestStub withDelay(Duration delay) {
+    this.delay = delay;
+    return this;
+  }
+
+  public String getUrlPattern() {
+    return urlPattern;
+  }
+
+  /**
+   * @return the fixture to answer with, or empty if matching requests are
+   *     sent to the server
+   */
+  public Optional<String> getFixture() {
+    return Optional.ofNullable(fixture);
+  }
+
+  byte[] getBody() {
+    return body;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public String getContentType() {
+    if (contentType != null) {
+      return contentType;
+    }
+    if (fixture != null && fixture.endsWith(".json")) {
+      return "application/json";
+    }
+    String guessed = fixture == null ? null : URLConnection.guessContentTypeFromName(fixture);
+    return guessed == null ? "application/octet-stream" : guessed;
+  }
+
+  public Duration getDelay() {
+    return delay;
+  }
+
+  /**
+   * @return whether the URL matches the pattern, as DevTools would match it
+   */
+  public boolean matches(String url) {
+    return urlRegex.matcher(url).matches();
+  }
+
+  private static Pattern toRegex(String urlPattern) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < urlPattern.length(); i++) {
+      char c = urlPattern.charAt(i);
+      if (c == '*') {
+        regex.append(".*");
+      } else if (c == '?') {
+        regex.append('.');
+      } else if (c == '\\' && i + 1 < urlPattern.length()) {
+        regex.append(Pattern.quote(String.valueOf(urlPattern.charAt(++i))));
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  @Override
+  public String toString() {
+    return urlPattern + " -> " + getFixture().map(f -> f + " (" + status + ")").orElse("server")
+        + (delay.isZero() ? "" : " after " + delay.toMillis() + "ms");
+  }
+}
@@ -0,0 +1,185 @@
+package com.frameworkium.core.ui.driver;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Applies {@link RequestStub}s to a local Chromium browser by pausing
+ * matching requests with the DevTools Fetch domain, then answering them from
+ * fixtures or sending them on to the server.
+ */
+public final class RequestStubber {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final Map<WebDriver, RequestStubber> stubbers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  /** Responds off the DevTools connection's thread, after any delay. */
+  private static final ScheduledExecutorService responder =
+      Executors.newScheduledThreadPool(2,
+          new ThreadFactoryBuilder()
+              .setNameFormat("request-stubs-%d")
+              .setDaemon(true)
+              .build());
+
+  private final DevTools devTools;
+  /** The DevTools target, i.e. window, requests are stubbed in, if known. */
+  private String targetId;
+  private volatile List<RequestStub> stubs = Collections.emptyList();
+  private final List<String> hits = Collections.synchronizedList(new ArrayList<>());
+
+  private RequestStubber(DevTools devTools) {
+    this.devTools = devTools;
+  }
+
+  /**
+   * Replaces any stubs applied to the browser.
+   *
+   * @param driver the browser, possibly wrapped, e.g. by an
+   *               {@link org.openqa.selenium.support.events.EventFiringWebDriver}
+   * @param stubs  the stubs to apply, the first matching stub is used
+   * @return false if the browser does not support stubbing requests, or not
+   *     in its current window, e.g. the page of a new browser context
+   */
+  public static boolean stub(WebDriver driver, List<RequestStub> stubs) {
+    WebDriver unwrapped = Driver.unwrap(driver);
+    if (!(unwrapped instanceof ChromiumDriver)) {
+      logger.warn("Request stubs are only supported by local Chromium browsers.");
+      return false;
+    }
+    try {
+      RequestStubber stubber = stubbers.computeIfAbsent(
+          unwrapped, chromium -> create(((ChromiumDriver) chromium).getDevTools()));
+      // DevTools only listens to the browser's first page, see DevTools#createSession
+      if (stubber.targetId != null && !stubber.targetId.equals(driver.getWindowHandle())) {
+        logger.warn("Request stubs are only supported in the browser's first window, "
+            + "so not with driverLifecycle=context.");
+        return false;
+      }
+      stubber.apply(stubs);
+      return true;
+    } catch (RuntimeException e) {
+      logger.warn("Unable to stub requests using DevTools.");
+      logger.debug("Failed to stub requests.", e);
+      return false;
+    }
+  }
+
+  static RequestStubber create(DevTools devTools) {
+    RequestStubber stubber = new RequestStubber(devTools);
+    devTools.createSessionIfThereIsNotOne();
+    stubber.targetId = findTargetId(devTools);
+    devTools.addListener(
+        new Event<>(
+            "Fetch.requestPaused",
+            input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+        paused -> responder.execute(() -> stubber.onRequestPaused(paused)));
+    return stubber;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String findTargetId(DevTools devTools) {
+    try {
+      Map<String, Object> response = devTools.send(new Command<>(
+          "Target.getTargetInfo",
+          Collections.emptyMap(),
+          input -> input.<Map<String, Object>>read(Json.MAP_TYPE)));
+      Map<String, Object> targetInfo = (Map<String, Object>) response.get("targetInfo");
+      return (String) targetInfo.get("targetId");
+    } catch (RuntimeException e) {
+      // e.g. an older browser, assume the stubs apply to the current window
+      logger.debug("Failed to find the DevTools target.", e);
+      return null;
+    }
+  }
+
+  void apply(List<RequestStub> newStubs) {
+    stubs = new ArrayList<>(newStubs);
+    List<Map<String, Object>> patterns = newStubs.stream()
+        .map(stub -> ImmutableMap.<String, Object>of(
+            "urlPattern", stub.getUrlPattern(), "requestStage", "Request"))
+        .collect(Collectors.toList());
+    devTools.send(new Command<>("Fetch.enable", ImmutableMap.of("patterns", patterns)));
+    logger.debug("Stubbing requests {}", newStubs);
+  }
+
+  /**
+   * Removes the stubs applied to the browser.
+   *
+   * @param driver the browser, possibly wrapped
+   * @return a line per request answered or delayed by the stubs, since they
+   *     were applied
+   */
+  public static List<String> clear(WebDriver driver) {
+    RequestStubber stubber = stubbers.get(Driver.unwrap(driver));
+    if (stubber == null) {
+      return Collections.emptyList();
+    }
+    stubber.stubs = Collections.emptyList();
+    stubber.devTools.send(new Command<>("Fetch.disable", Collections.emptyMap()));
+    synchronized (stubber.hits) {
+      List<String> hits = new ArrayList<>(stubber.hits);
+      stubber.hits.clear();
+      return hits;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  void onRequestPaused(Map<String, Object> paused) {
+    String requestId = (String) paused.get("requestId");
+    Map<String, Object> request = (Map<String, Object>) paused.get("request");
+    String url = (String) request.get("url");
+    Optional<RequestStub> matchingStub = stubs.stream()
+        .filter(stub -> stub.matches(url))
+        .findFirst();
+    if (!matchingStub.isPresent()) {
+      continueRequest(requestId);
+      return;
+    }
+    RequestStub stub = matchingStub.get();
+    hits.add(request.get("method") + " " + url + " -> " + stub);
+    responder.schedule(
+        () -> respond(requestId, stub), stub.getDelay().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private void respond(String requestId, RequestStub stub) {
+    try {
+      if (stub.getFixture().isPresent()) {
+        devTools.send(new Command<>("Fetch.fulfillRequest", ImmutableMap.of(
+            "requestId", requestId,
+            "responseCode", stub.getStatus(),
+            "responseHeaders", Collections.singletonList(ImmutableMap.of(
+                "name", "Content-Type", "value", stub.getContentType())),
+            "body", Base64.getEncoder().encodeToString(stub.getBody()))));
+      } else {
+        continueRequest(requestId);
+      }
+    } catch (RuntimeException e) {
+      // e.g. the page navigated away or the browser quit
+      logger.debug("Failed to respond to paused request.", e);
+    }
+  }
+
+  private void continueRequest(String requestId) {
+    devTools.send(new Command<>("Fetch.continueRequest", ImmutableMap.of("requestId", requestId)));
+  }
+}
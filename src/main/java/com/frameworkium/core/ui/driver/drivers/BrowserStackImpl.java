@@ -5,6 +5,7 @@ import static com.frameworkium.core.ui.driver.DriverSetup.Platform;
 import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.ui.driver.AbstractDriver;
 import com.frameworkium.core.ui.driver.remotes.BrowserStack;
+import com.frameworkium.core.ui.driver.remotes.RemoteCommandExecutor;
 import java.net.MalformedURLException;
 import java.net.URL;
 import org.openqa.selenium.Capabilities;
@@ -83,15 +84,13 @@ public class BrowserStackImpl extends AbstractDriver {
       mutableCapabilities.setCapability(
           "resolution", Property.RESOLUTION.getValue());
     }
-    if (Property.BROWSER_VERSION.isSpecified()) {
-      mutableCapabilities.setCapability(
-          "browser_version", Property.BROWSER_VERSION.getValue());
-    }
+    getBrowserSpec().getVersion().ifPresent(
+        version -> mutableCapabilities.setCapability("browser_version", version));
     return mutableCapabilities;
   }
 
   @Override
   public WebDriver getWebDriver(Capabilities capabilities) {
-    return new RemoteWebDriver(remoteURL, capabilities);
+    return new RemoteWebDriver(RemoteCommandExecutor.create(remoteURL), capabilities);
   }
 }
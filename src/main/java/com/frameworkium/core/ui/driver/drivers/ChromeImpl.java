@@ -2,7 +2,12 @@ package com.frameworkium.core.ui.driver.drivers;
 
 import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.ui.driver.AbstractDriver;
+import com.frameworkium.core.ui.driver.FastMode;
+import com.frameworkium.core.ui.driver.RequestBlocker;
+import com.frameworkium.core.ui.driver.profiles.ProfileTemplate;
+import com.frameworkium.core.ui.driver.services.DriverServices;
 import com.google.common.collect.ImmutableMap;
+import java.nio.file.Path;
 import java.util.Collections;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
@@ -35,10 +40,16 @@ public class ChromeImpl extends AbstractDriver {
           ImmutableMap.of("deviceName", Property.DEVICE.getValue()));
     }
 
-    chromeOptions.setHeadless(Property.HEADLESS.getBoolean());
+    chromeOptions.setHeadless(getBrowserSpec().isHeadless());
+    FastMode.apply(chromeOptions);
     return chromeOptions;
   }
 
+  @Override
+  protected boolean isWindowSizeSet() {
+    return FastMode.isEnabled(FastMode.Part.WINDOW_SIZE);
+  }
+
   @Override
   public WebDriver getWebDriver(Capabilities capabilities) {
     final ChromeOptions chromeOptions;
@@ -47,7 +58,23 @@ public class ChromeImpl extends AbstractDriver {
     } else {
       chromeOptions = new ChromeOptions().merge(capabilities);
     }
-    return new ChromeDriver(chromeOptions);
+    ProfileTemplate.forBrowser("chrome", dir -> newChromeDriver(
+        withUserDataDir(chromeOptions.merge(new ChromeOptions()), dir)))
+        .ifPresent(template -> withUserDataDir(chromeOptions, createCopy(template)));
+    WebDriver driver = newChromeDriver(chromeOptions);
+    RequestBlocker.blockConfiguredUrls(driver);
+    return driver;
+  }
+
+  private static ChromeOptions withUserDataDir(ChromeOptions chromeOptions, Path dir) {
+    chromeOptions.addArguments("--user-data-dir=" + dir);
+    return chromeOptions;
+  }
+
+  private static WebDriver newChromeDriver(ChromeOptions chromeOptions) {
+    return DriverServices.chrome()
+        .map(service -> new ChromeDriver(service, chromeOptions))
+        .orElseGet(() -> new ChromeDriver(chromeOptions));
   }
 
 }
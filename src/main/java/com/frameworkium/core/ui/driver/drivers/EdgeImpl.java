@@ -1,6 +1,8 @@
 package com.frameworkium.core.ui.driver.drivers;
 
 import com.frameworkium.core.ui.driver.AbstractDriver;
+import com.frameworkium.core.ui.driver.FastMode;
+import com.frameworkium.core.ui.driver.RequestBlocker;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.edge.EdgeDriver;
@@ -10,7 +12,14 @@ public class EdgeImpl extends AbstractDriver {
 
   @Override
   public EdgeOptions getCapabilities() {
-    return new EdgeOptions();
+    EdgeOptions edgeOptions = new EdgeOptions();
+    FastMode.apply(edgeOptions);
+    return edgeOptions;
+  }
+
+  @Override
+  protected boolean isWindowSizeSet() {
+    return FastMode.isEnabled(FastMode.Part.WINDOW_SIZE);
   }
 
   @Override
@@ -21,6 +30,8 @@ public class EdgeImpl extends AbstractDriver {
     } else {
       edgeOptions = new EdgeOptions().merge(capabilities);
     }
-    return new EdgeDriver(edgeOptions);
+    EdgeDriver driver = new EdgeDriver(edgeOptions);
+    RequestBlocker.blockConfiguredUrls(driver);
+    return driver;
   }
 }
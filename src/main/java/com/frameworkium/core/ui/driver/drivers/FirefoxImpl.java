@@ -1,23 +1,34 @@
 package com.frameworkium.core.ui.driver.drivers;
 
-import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.ui.driver.AbstractDriver;
+import com.frameworkium.core.ui.driver.FastMode;
+import com.frameworkium.core.ui.driver.profiles.ProfileTemplate;
+import com.frameworkium.core.ui.driver.services.DriverServices;
+import java.nio.file.Path;
+import java.util.Optional;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxDriverLogLevel;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 
 public class FirefoxImpl extends AbstractDriver {
 
   @Override
   public FirefoxOptions getCapabilities() {
     FirefoxOptions firefoxOptions = new FirefoxOptions();
-    firefoxOptions.setHeadless(Property.HEADLESS.getBoolean());
+    firefoxOptions.setHeadless(getBrowserSpec().isHeadless());
     firefoxOptions.setLogLevel(FirefoxDriverLogLevel.INFO);
+    FastMode.apply(firefoxOptions);
     return firefoxOptions;
   }
 
+  @Override
+  protected boolean isWindowSizeSet() {
+    return FastMode.isEnabled(FastMode.Part.WINDOW_SIZE);
+  }
+
   @Override
   public WebDriver getWebDriver(Capabilities capabilities) {
     final FirefoxOptions firefoxOptions;
@@ -26,6 +37,28 @@ public class FirefoxImpl extends AbstractDriver {
     } else {
       firefoxOptions = new FirefoxOptions().merge(capabilities);
     }
-    return new FirefoxDriver(firefoxOptions);
+    ProfileTemplate.forBrowser("firefox", dir -> newFirefoxDriver(
+        withProfile(firefoxOptions.merge(new FirefoxOptions()), dir)))
+        .ifPresent(template -> withProfile(firefoxOptions, createCopy(template)));
+    return newFirefoxDriver(firefoxOptions);
+  }
+
+  private static FirefoxOptions withProfile(FirefoxOptions firefoxOptions, Path dir) {
+    firefoxOptions.addArguments("-profile", dir.toString());
+    return firefoxOptions;
+  }
+
+  private static WebDriver newFirefoxDriver(FirefoxOptions firefoxOptions) {
+    Optional<GeckoDriverService> sharedService = DriverServices.leaseGecko();
+    if (!sharedService.isPresent()) {
+      return new FirefoxDriver(firefoxOptions);
+    }
+    try {
+      return new FirefoxDriver(sharedService.get(), firefoxOptions);
+    } catch (RuntimeException e) {
+      // releases the service for the next session
+      sharedService.get().stop();
+      throw e;
+    }
   }
 }
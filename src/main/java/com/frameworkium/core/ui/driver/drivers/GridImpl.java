@@ -1,12 +1,11 @@
 package com.frameworkium.core.ui.driver.drivers;
 
 import static com.frameworkium.core.common.properties.Property.APPLICATION_NAME;
-import static com.frameworkium.core.common.properties.Property.BROWSER_VERSION;
-import static com.frameworkium.core.common.properties.Property.PLATFORM;
 import static com.frameworkium.core.common.properties.Property.PLATFORM_VERSION;
 
 import com.frameworkium.core.common.properties.Property;
 import com.frameworkium.core.ui.driver.AbstractDriver;
+import com.frameworkium.core.ui.driver.remotes.RemoteCommandExecutor;
 import java.net.MalformedURLException;
 import java.net.URL;
 import org.openqa.selenium.Capabilities;
@@ -34,10 +33,9 @@ public class GridImpl extends AbstractDriver {
   @Override
   public Capabilities getCapabilities() {
     MutableCapabilities mutableCapabilities = new MutableCapabilities(capabilities);
-    if (BROWSER_VERSION.isSpecified()) {
-      mutableCapabilities.setCapability("version", BROWSER_VERSION.getValue());
-    }
-    if (PLATFORM.isSpecified()) {
+    getBrowserSpec().getVersion().ifPresent(
+        version -> mutableCapabilities.setCapability("version", version));
+    if (getBrowserSpec().getPlatform().isPresent()) {
       mutableCapabilities.setCapability("platform", PLATFORM_VERSION.getValue());
     }
     if (APPLICATION_NAME.isSpecified()) {
@@ -48,6 +46,6 @@ public class GridImpl extends AbstractDriver {
 
   @Override
   public WebDriver getWebDriver(Capabilities capabilities) {
-    return new RemoteWebDriver(remoteURL, capabilities);
+    return new RemoteWebDriver(RemoteCommandExecutor.create(remoteURL), capabilities);
   }
 }
@@ -10,4 +10,9 @@ public class LegacyFirefoxImpl extends FirefoxImpl {
     firefoxOptions.setLegacy(true);
     return firefoxOptions;
   }
+
+  @Override
+  protected boolean isWindowSizeSet() {
+    return false;
+  }
 }
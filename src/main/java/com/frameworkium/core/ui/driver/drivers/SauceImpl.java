@@ -1,7 +1,6 @@
 package com.frameworkium.core.ui.driver.drivers;
 
 import static com.frameworkium.core.common.properties.Property.APP_PATH;
-import static com.frameworkium.core.common.properties.Property.BROWSER_VERSION;
 import static com.frameworkium.core.common.properties.Property.BUILD;
 import static com.frameworkium.core.common.properties.Property.DEVICE;
 import static com.frameworkium.core.common.properties.Property.PLATFORM_VERSION;
@@ -9,6 +8,7 @@ import static com.frameworkium.core.ui.driver.DriverSetup.Platform;
 
 import com.frameworkium.core.ui.driver.AbstractDriver;
 import com.frameworkium.core.ui.driver.Driver;
+import com.frameworkium.core.ui.driver.remotes.RemoteCommandExecutor;
 import com.frameworkium.core.ui.driver.remotes.Sauce;
 import java.io.File;
 import java.net.URL;
@@ -45,7 +45,7 @@ public class SauceImpl extends AbstractDriver {
 
   @Override
   public WebDriver getWebDriver(Capabilities capabilities) {
-    return new RemoteWebDriver(remoteURL, capabilities);
+    return new RemoteWebDriver(RemoteCommandExecutor.create(remoteURL), capabilities);
   }
 
   private MutableCapabilities getCapabilitiesBasedOnPlatform() {
@@ -72,9 +72,8 @@ public class SauceImpl extends AbstractDriver {
     MutableCapabilities caps = new MutableCapabilities(capabilities);
     caps.setCapability(
         "platform", platformName + " " + PLATFORM_VERSION.getValue());
-    if (BROWSER_VERSION.isSpecified()) {
-      caps.setCapability("version", BROWSER_VERSION.getValue());
-    }
+    getBrowserSpec().getVersion().ifPresent(
+        version -> caps.setCapability("version", version));
     return caps;
   }
 
@@ -0,0 +1,272 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.frameworkium.core.common.properties.Property;
+import java.time.Duration;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Limits how many tests run at once, starting at a floor and adding a test
+ * after each healthy window of tests, up to a ceiling. When the failure rate,
+ * browser startup time or test time of a window spikes above its recent
+ * average, a quarter of the tests are taken away instead.
+ *
+ * <p>A window is the tests completed since the last decision, at least as
+ * many as the limit. Skipped tests are logged but not counted, while retried
+ * tests count as failures. Each decision is logged, so the bounds can be
+ * tuned.
+ */
+public class AdaptiveConcurrency {
+
+  /** The outcome of a test. */
+  public enum Outcome {
+    PASSED,
+    FAILED,
+    /** Skipped, so neither a healthy test nor a failure. */
+    SKIPPED
+  }
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final int MIN_WINDOW = 4;
+  /** The increase in failure rate over the average which is a spike. */
+  private static final double FAILURE_RATE_SPIKE = 0.1;
+  /** The ratio of time to the average time which is a spike. */
+  private static final double TIME_SPIKE = 1.5;
+  /** The weight of the latest window in the averages. */
+  private static final double AVERAGE_WEIGHT = 0.5;
+  private static final Duration WAIT_LOG_INTERVAL = Duration.ofMinutes(1);
+
+  private static AdaptiveConcurrency shared;
+
+  private final int floor;
+  private final int ceiling;
+  private final AdmissionGate gate;
+  private final ThreadLocal<Long> testStart = new ThreadLocal<>();
+  private final ThreadLocal<Outcome> testOutcome = new ThreadLocal<>();
+
+  private int windowTests;
+  private int windowFailures;
+  private int windowSkips;
+  private long windowTestNanos;
+  private int windowStartups;
+  private long windowStartupNanos;
+
+  private boolean hasAverages;
+  private double averageFailureRate;
+  private double averageTestNanos;
+  private double averageStartupNanos;
+  private int maxLimit;
+
+  /**
+   * @param floor   the number of tests allowed to run at once to start with,
+   *                and after backing off
+   * @param ceiling the most tests allowed to run at once
+   */
+  public AdaptiveConcurrency(int floor, int ceiling) {
+    if (floor < 1 || ceiling < floor) {
+      throw new IllegalArgumentException(
+          "Invalid adaptive concurrency bounds " + floor + "-" + ceiling);
+    }
+    this.floor = floor;
+    this.ceiling = ceiling;
+    this.gate = new AdmissionGate(floor);
+    this.maxLimit = floor;
+  }
+
+  /**
+   * Starts limiting tests as set by {@link Property#ADAPTIVE_CONCURRENCY},
+   * either {@code floor-ceiling}, e.g. {@code 2-8}, or {@code true} for
+   * between one and {@link Property#THREADS} tests.
+   */
+  public static synchronized void startShared() {
+    if (shared == null) {
+      int[] bounds = parseBounds(
+          Property.ADAPTIVE_CONCURRENCY.getValue(), Property.THREADS.getIntWithDefault(1));
+      shared = new AdaptiveConcurrency(bounds[0], bounds[1]);
+      logger.info("Adapting concurrency between {} and {} tests", bounds[0], bounds[1]);
+    }
+  }
+
+  static int[] parseBounds(String value, int threads) {
+    String[] bounds = value.trim().split("-");
+    if (bounds.length == 2) {
+      return new int[] {Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim())};
+    }
+    if (Boolean.parseBoolean(value.trim())) {
+      return new int[] {1, Math.max(1, threads)};
+    }
+    throw new IllegalArgumentException(
+        "Invalid adaptiveConcurrency '" + value + "', expected floor-ceiling or true");
+  }
+
+  /**
+   * @return the concurrency started by {@link #startShared()}, if any
+   */
+  public static synchronized Optional<AdaptiveConcurrency> getShared() {
+    return Optional.ofNullable(shared);
+  }
+
+  /**
+   * Logs the limit reached and stops limiting tests.
+   */
+  public static synchronized void stopShared() {
+    if (shared != null) {
+      logger.info("Adaptive concurrency finished at {} tests, reaching at most {}",
+          shared.getLimit(), shared.maxLimit);
+      shared = null;
+    }
+  }
+
+  /**
+   * Waits, in turn, until another test is allowed to run. Does nothing if the
+   * current thread's test is already running.
+   */
+  public void enter() {
+    if (testStart.get() != null) {
+      return;
+    }
+    try {
+      while (!gate.tryEnter(WAIT_LOG_INTERVAL)) {
+        logger.debug("Waiting to start test, {}", gate);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting to start test", e);
+    }
+    testStart.set(System.nanoTime());
+  }
+
+  /**
+   * Records the outcome of the current thread's test, before it exits.
+   *
+   * @param outcome the outcome of the test
+   */
+  public void recordOutcome(Outcome outcome) {
+    if (testStart.get() != null) {
+      testOutcome.set(outcome);
+    }
+  }
+
+  /**
+   * Records the current thread's test, as passed unless another outcome was
+   * recorded, and lets the next test run.
+   */
+  public void exit() {
+    Long start = testStart.get();
+    if (start == null) {
+      return;
+    }
+    final Outcome outcome = testOutcome.get();
+    testStart.remove();
+    testOutcome.remove();
+    gate.exit();
+    recordTest(System.nanoTime() - start, outcome == null ? Outcome.PASSED : outcome);
+  }
+
+  /**
+   * @param nanos the time a browser took to start
+   */
+  public synchronized void recordStartup(long nanos) {
+    windowStartups++;
+    windowStartupNanos += nanos;
+  }
+
+  synchronized void recordTest(long nanos, Outcome outcome) {
+    if (outcome == Outcome.SKIPPED) {
+      windowSkips++;
+      return;
+    }
+    windowTests++;
+    windowTestNanos += nanos;
+    if (outcome == Outcome.FAILED) {
+      windowFailures++;
+    }
+    if (windowTests >= Math.max(MIN_WINDOW, gate.getLimit())) {
+      adjust();
+    }
+  }
+
+  private void adjust() {
+    double failureRate = (double) windowFailures / windowTests;
+    double testNanos = (double) windowTestNanos / windowTests;
+    double startupNanos = windowStartups == 0 ? 0 : (double) windowStartupNanos / windowStartups;
+    String spike = hasAverages ? findSpike(failureRate, testNanos, startupNanos) : null;
+    String window = String.format(
+        "%d tests, %.0f%% failed, %d skipped, mean test %dms, mean startup %dms",
+        windowTests, failureRate * 100, windowSkips, toMillis(testNanos), toMillis(startupNanos));
+    int limit = gate.getLimit();
+    if (spike != null) {
+      int reduced = Math.max(floor, limit - Math.max(1, limit / 4));
+      logger.info("Concurrency {} -> {} tests, {} ({})", limit, reduced, spike, window);
+      gate.resize(reduced);
+    } else if (limit < ceiling) {
+      logger.info("Concurrency {} -> {} tests, healthy ({})", limit, limit + 1, window);
+      gate.resize(limit + 1);
+      maxLimit = Math.max(maxLimit, limit + 1);
+    } else {
+      logger.debug("Concurrency stays at {} tests ({})", limit, window);
+    }
+    updateAverages(failureRate, testNanos, startupNanos);
+    windowTests = 0;
+    windowFailures = 0;
+    windowSkips = 0;
+    windowTestNanos = 0;
+    windowStartups = 0;
+    windowStartupNanos = 0;
+  }
+
+  private String findSpike(double failureRate, double testNanos, double startupNanos) {
+    if (failureRate > averageFailureRate + FAILURE_RATE_SPIKE) {
+      return String.format("failure rate spiked from %.0f%%", averageFailureRate * 100);
+    }
+    if (startupNanos > 0 && averageStartupNanos > 0
+        && startupNanos > averageStartupNanos * TIME_SPIKE) {
+      return "browser startup spiked from " + toMillis(averageStartupNanos) + "ms";
+    }
+    if (testNanos > averageTestNanos * TIME_SPIKE) {
+      return "test time spiked from " + toMillis(averageTestNanos) + "ms";
+    }
+    return null;
+  }
+
+  private void updateAverages(double failureRate, double testNanos, double startupNanos) {
+    if (!hasAverages) {
+      averageFailureRate = failureRate;
+      averageTestNanos = testNanos;
+      averageStartupNanos = startupNanos;
+      hasAverages = true;
+      return;
+    }
+    averageFailureRate = average(averageFailureRate, failureRate);
+    averageTestNanos = average(averageTestNanos, testNanos);
+    if (startupNanos > 0) {
+      averageStartupNanos = averageStartupNanos > 0
+          ? average(averageStartupNanos, startupNanos)
+          : startupNanos;
+    }
+  }
+
+  private static double average(double average, double latest) {
+    return average * (1 - AVERAGE_WEIGHT) + latest * AVERAGE_WEIGHT;
+  }
+
+  private static long toMillis(double nanos) {
+    return NANOSECONDS.toMillis((long) nanos);
+  }
+
+  /**
+   * @return the number of tests allowed to run at once
+   */
+  public int getLimit() {
+    return gate.getLimit();
+  }
+
+  @Override
+  public String toString() {
+    return gate.toString();
+  }
+}
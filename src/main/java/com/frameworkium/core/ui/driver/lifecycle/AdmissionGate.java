@@ -0,0 +1,98 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many threads may be inside a section at once, e.g. requesting a
+ * new session, where the limit can change while threads are inside.
+ *
+ * <p>Threads waiting to enter are admitted in the order they arrived. Lowering
+ * the limit does not affect threads already inside, but no more are admitted
+ * until enough of them have left.
+ */
+public class AdmissionGate {
+
+  private final Permits permits = new Permits();
+  private int limit;
+
+  /**
+   * @param limit the initial number of threads allowed inside at once
+   */
+  public AdmissionGate(int limit) {
+    resize(limit);
+  }
+
+  /**
+   * Waits, in turn, until the gate has room for this thread.
+   *
+   * @param timeout the maximum time to wait
+   * @return false if the thread was not admitted in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean tryEnter(Duration timeout) throws InterruptedException {
+    return permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Leaves the gate, letting the next waiting thread in if there is room.
+   */
+  public void exit() {
+    permits.release();
+  }
+
+  /**
+   * @param newLimit the number of threads allowed inside at once, at least 0
+   */
+  public synchronized void resize(int newLimit) {
+    int delta = Math.max(0, newLimit) - limit;
+    if (delta > 0) {
+      permits.release(delta);
+    } else if (delta < 0) {
+      permits.reducePermits(-delta);
+    }
+    limit += delta;
+  }
+
+  /**
+   * @return the number of threads allowed inside at once
+   */
+  public synchronized int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of threads inside the gate
+   */
+  public synchronized int getInside() {
+    return limit - permits.availablePermits();
+  }
+
+  /**
+   * @return an estimate of the number of threads waiting to enter
+   */
+  public int getWaiting() {
+    return permits.getQueueLength();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d of %d inside, %d waiting", getInside(), getLimit(), getWaiting());
+  }
+
+  /** Exposes {@link Semaphore#reducePermits(int)}. */
+  private static final class Permits extends Semaphore {
+
+    private static final long serialVersionUID = 1L;
+
+    private Permits() {
+      super(0, true);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+}
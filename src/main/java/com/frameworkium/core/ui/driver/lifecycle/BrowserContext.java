@@ -0,0 +1,82 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import com.frameworkium.core.ui.driver.RequestBlocker;
+import com.frameworkium.core.ui.js.AnimationFreezer;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Optional;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+/**
+ * An isolated, incognito-style browser context in a Chromium browser, created
+ * using DevTools. Disposing the context discards its cookies, storage, cache
+ * and service workers without restarting the browser.
+ */
+final class BrowserContext {
+
+  private final WebDriver driver;
+  private final ChromiumDriver chromiumDriver;
+  private final String defaultWindow;
+  private final String browserContextId;
+
+  private BrowserContext(
+      WebDriver driver,
+      ChromiumDriver chromiumDriver,
+      String defaultWindow,
+      String browserContextId) {
+    this.driver = driver;
+    this.chromiumDriver = chromiumDriver;
+    this.defaultWindow = defaultWindow;
+    this.browserContextId = browserContextId;
+  }
+
+  /**
+   * Creates a new browser context with a blank page and switches the driver
+   * to it. The page blocks requests and freezes animations, if configured, as
+   * the browser's first page does.
+   *
+   * @param driver the driver, possibly wrapped, e.g. by an
+   *               {@link org.openqa.selenium.support.events.EventFiringWebDriver}
+   * @return the new context, or empty if the browser is not a local Chromium
+   *     browser and so does not support DevTools commands
+   */
+  static Optional<BrowserContext> open(WebDriver driver) {
+    WebDriver unwrapped = Driver.unwrap(driver);
+    if (!(unwrapped instanceof ChromiumDriver)) {
+      return Optional.empty();
+    }
+    ChromiumDriver chromiumDriver = (ChromiumDriver) unwrapped;
+    final String defaultWindow = driver.getWindowHandle();
+    String browserContextId = (String) chromiumDriver
+        .executeCdpCommand("Target.createBrowserContext", Collections.emptyMap())
+        .get("browserContextId");
+    String targetId = (String) chromiumDriver
+        .executeCdpCommand("Target.createTarget", ImmutableMap.of(
+            "url", "about:blank",
+            "browserContextId", browserContextId))
+        .get("targetId");
+    // ChromeDriver window handles are DevTools target IDs
+    driver.switchTo().window(targetId);
+    // DevTools commands go to the current window, so set up the new page as
+    // the browser's first page was set up when it started
+    RequestBlocker.blockConfiguredUrlsInCurrentWindow(chromiumDriver);
+    if (AnimationFreezer.isEnabled()) {
+      AnimationFreezer.freezeOnNewDocuments(chromiumDriver);
+    }
+    return Optional.of(
+        new BrowserContext(driver, chromiumDriver, defaultWindow, browserContextId));
+  }
+
+  /**
+   * Switches the driver back to its original window and disposes of the
+   * context, closing its pages and discarding its data.
+   */
+  void close() {
+    driver.switchTo().window(defaultWindow);
+    chromiumDriver.executeCdpCommand(
+        "Target.disposeBrowserContext",
+        ImmutableMap.of("browserContextId", browserContextId));
+  }
+}
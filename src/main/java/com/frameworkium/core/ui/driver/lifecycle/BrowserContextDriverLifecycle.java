@@ -0,0 +1,105 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Keeps one browser per test thread and gives each test a fresh
+ * {@link BrowserContext}, which isolates cookies, storage, cache and service
+ * workers almost as well as a new browser, at close to the cost of reuse.
+ *
+ * <p>Browser contexts need a local Chromium browser, e.g. Chrome or Edge.
+ * For other browsers each test only gets its cookies deleted, as with
+ * {@link MultiUseDriverLifecycle}.
+ *
+ * <p>If a test leaves the browser broken, it is quit and the next test on
+ * the thread starts a new one.
+ *
+ * @see DriverLifecycle
+ */
+public class BrowserContextDriverLifecycle implements DriverLifecycle {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
+  private final ThreadLocal<Optional<BrowserContext>> threadLocalContext =
+      new ThreadLocal<>();
+  /** Every live driver, across all threads. */
+  private final Set<Driver> drivers = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Opens a new {@link BrowserContext} in this thread's browser, starting the
+   * browser if required.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   */
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier) {
+    Driver driver = threadLocalDriver.get();
+    // drivers are forgotten once quit, e.g. by tearDownDriverPool
+    if (driver == null || !drivers.contains(driver)) {
+      driver = driverSupplier.get();
+      drivers.add(driver);
+      threadLocalDriver.set(driver);
+    }
+    try {
+      Optional<BrowserContext> context = BrowserContext.open(driver.getWebDriver());
+      if (!context.isPresent()) {
+        logger.debug("Browser contexts not supported, deleting cookies between tests.");
+      }
+      threadLocalContext.set(context);
+    } catch (Exception e) {
+      discard(driver);
+      throw e;
+    }
+  }
+
+  @Override
+  public WebDriver getWebDriver() {
+    return threadLocalDriver.get().getWebDriver().getWrappedDriver();
+  }
+
+  /**
+   * Disposes of the test's {@link BrowserContext}, or deletes all cookies if
+   * there is none. If that fails the browser is quit.
+   */
+  @Override
+  public void tearDownDriver() {
+    Driver driver = threadLocalDriver.get();
+    try {
+      Optional<BrowserContext> context = threadLocalContext.get();
+      if (context.isPresent()) {
+        context.get().close();
+      } else {
+        driver.getWebDriver().manage().deleteAllCookies();
+      }
+    } catch (Exception e) {
+      logger.error("Failed to tear down browser context after test method.");
+      logger.debug("Failed to tear down browser context after test method.", e);
+      discard(driver);
+      throw e;
+    } finally {
+      threadLocalContext.remove();
+    }
+  }
+
+  /**
+   * Quits every browser.
+   */
+  @Override
+  public void tearDownDriverPool() {
+    drivers.forEach(this::discard);
+  }
+
+  private void discard(Driver driver) {
+    if (drivers.remove(driver)) {
+      DriverQuitter.quit(driver);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Gives each test class its own {@link Driver} for all of its methods. The
+ * affinity key passed to {@link #initBrowserBeforeTest(Supplier, String)}
+ * identifies the class, and the {@link Driver} is quit by
+ * {@link #afterTestClass(String)}.
+ *
+ * <p>Browser state, e.g. cookies and the current page, is kept between the
+ * methods of a class. Methods of the same class running in parallel take
+ * turns with its {@link Driver}, which is health checked as each method
+ * takes it and replaced if it has crashed.
+ *
+ * <p>Tests without an affinity key get a fresh {@link Driver} which is quit
+ * after the test, as with {@link SingleUseDriverLifecycle}.
+ *
+ * @see DriverLifecycle
+ */
+public class ClassScopedDriverLifecycle implements DriverLifecycle {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
+  private final ThreadLocal<ClassDriver> threadLocalClassDriver = new ThreadLocal<>();
+  private final Map<String, ClassDriver> classDrivers = new ConcurrentHashMap<>();
+  private final DriverHealthCheck healthCheck;
+
+  /** The {@link Driver} for one class, created by its first test. */
+  private static class ClassDriver {
+    private final Semaphore inUse = new Semaphore(1);
+    private Driver driver;
+  }
+
+  public ClassScopedDriverLifecycle() {
+    this(DriverHealthCheck.fromProperties());
+  }
+
+  /**
+   * @param healthCheck checks the class {@link Driver} before each method
+   */
+  ClassScopedDriverLifecycle(DriverHealthCheck healthCheck) {
+    this.healthCheck = healthCheck;
+  }
+
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier) {
+    initBrowserBeforeTest(driverSupplier, null);
+  }
+
+  /**
+   * Sets the {@link ThreadLocal} {@link Driver} to the one for the test class,
+   * creating it for the first test of the class, or if it has crashed.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   * @param affinityKey    identifies the test class, or {@code null} for a
+   *                       single use {@link Driver}
+   */
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier, String affinityKey) {
+    if (affinityKey == null) {
+      threadLocalDriver.set(driverSupplier.get());
+      return;
+    }
+    ClassDriver classDriver = classDrivers.computeIfAbsent(affinityKey, k -> new ClassDriver());
+    classDriver.inUse.acquireUninterruptibly();
+    try {
+      if (classDriver.driver != null && !healthCheck.isHealthy(classDriver.driver)) {
+        logger.warn("Replacing the browser of {}.", affinityKey);
+        DriverQuitter.quit(classDriver.driver);
+        classDriver.driver = null;
+      }
+      if (classDriver.driver == null) {
+        classDriver.driver = driverSupplier.get();
+      }
+    } catch (RuntimeException e) {
+      classDriver.inUse.release();
+      throw e;
+    }
+    threadLocalClassDriver.set(classDriver);
+    threadLocalDriver.set(classDriver.driver);
+  }
+
+  @Override
+  public WebDriver getWebDriver() {
+    return threadLocalDriver.get().getWebDriver().getWrappedDriver();
+  }
+
+  /**
+   * Makes the class {@link Driver} available to the next method of the class,
+   * or quits a single use {@link Driver}.
+   */
+  @Override
+  public void tearDownDriver() {
+    ClassDriver classDriver = threadLocalClassDriver.get();
+    try {
+      if (classDriver != null) {
+        classDriver.inUse.release();
+      } else {
+        threadLocalDriver.get().getWebDriver().quit();
+      }
+    } catch (Exception e) {
+      logger.error("Failed to quit browser.");
+      logger.debug("Failed to quit browser", e);
+      throw e;
+    } finally {
+      threadLocalClassDriver.remove();
+      threadLocalDriver.remove();
+    }
+  }
+
+  /**
+   * Quits the {@link Driver} used by the methods of the given class.
+   *
+   * @param affinityKey identifies the test class
+   */
+  @Override
+  public void afterTestClass(String affinityKey) {
+    ClassDriver classDriver = classDrivers.remove(affinityKey);
+    if (classDriver != null && classDriver.driver != null) {
+      DriverQuitter.quit(classDriver.driver);
+    }
+  }
+
+  /**
+   * Quits the {@link Driver} of any class which has not been torn down.
+   */
+  @Override
+  public void tearDownDriverPool() {
+    classDrivers.keySet().forEach(this::afterTestClass);
+  }
+}
@@ -0,0 +1,94 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.driver.Driver;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Checks a {@link Driver} is still usable by sending it a cheap command.
+ *
+ * <p>Web browsers are asked to execute a trivial script, which fails if the
+ * session has gone or the renderer has crashed. Native apps, which cannot
+ * execute Javascript, are asked for their window handle instead.
+ */
+public class DriverHealthCheck {
+
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String LIVENESS_SCRIPT = "return 1;";
+
+  /**
+   * Probes run on their own threads so a hung session cannot block the caller
+   * beyond the timeout.
+   */
+  private static final ExecutorService probeExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("driver-health-%d")
+              .setDaemon(true)
+              .build());
+
+  private final Duration timeout;
+  private final DriverPoolStats stats;
+
+  /**
+   * @param timeout the maximum time the liveness command may take
+   * @param stats   where to record latency of the checks
+   */
+  public DriverHealthCheck(Duration timeout, DriverPoolStats stats) {
+    this.timeout = timeout;
+    this.stats = stats;
+  }
+
+  /**
+   * @return a check with the {@link Property#HEALTH_CHECK_TIMEOUT}, in
+   *     milliseconds, for {@link Driver}s kept outside a {@link DriverPool}
+   */
+  public static DriverHealthCheck fromProperties() {
+    Duration timeout = Property.HEALTH_CHECK_TIMEOUT.isSpecified()
+        ? Duration.ofMillis(Property.HEALTH_CHECK_TIMEOUT.getIntWithDefault(0))
+        : DEFAULT_TIMEOUT;
+    return new DriverHealthCheck(timeout, new DriverPoolStats());
+  }
+
+  /**
+   * @param driver the {@link Driver} to probe
+   * @return true if the liveness command succeeded within the timeout
+   */
+  public boolean isHealthy(Driver driver) {
+    long start = System.nanoTime();
+    Future<?> probe = probeExecutor.submit(() -> probe(driver.getWebDriver()));
+    try {
+      probe.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (Exception e) {
+      probe.cancel(true);
+      logger.warn("Browser failed health check: {}", e.toString());
+      logger.debug("Browser failed health check.", e);
+      return false;
+    } finally {
+      stats.recordHealthCheck(System.nanoTime() - start);
+    }
+  }
+
+  private static void probe(WebDriver webDriver) {
+    if (!Driver.isNative() && webDriver instanceof JavascriptExecutor) {
+      ((JavascriptExecutor) webDriver).executeScript(LIVENESS_SCRIPT);
+    } else {
+      webDriver.getWindowHandle();
+    }
+  }
+}
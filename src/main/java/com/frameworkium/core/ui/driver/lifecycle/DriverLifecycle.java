@@ -1,6 +1,8 @@
 package com.frameworkium.core.ui.driver.lifecycle;
 
+import com.frameworkium.core.ui.driver.BrowserSpec;
 import com.frameworkium.core.ui.driver.Driver;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import org.openqa.selenium.WebDriver;
 
@@ -16,6 +18,7 @@ import org.openqa.selenium.WebDriver;
  * <li>{@link #getWebDriver()} (n times only after the above and before the below)
  * <li>{@link #tearDownDriver()}
  * (once after {@link #initBrowserBeforeTest(Supplier)} has been called)
+ * <li>{@link #afterTestClass(String)} (once after the last test of a class)
  * <li>{@link #tearDownDriverPool()} (once but multiple calls do nothing)
  * </ol>
  */
@@ -36,10 +39,44 @@ public interface DriverLifecycle {
    * supplied {@link Supplier}.
    *
    * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
-   * @throws java.util.NoSuchElementException if this pool is empty
+   * @throws java.util.NoSuchElementException if no pooled driver becomes available
    */
   void initBrowserBeforeTest(Supplier<Driver> driverSupplier);
 
+  /**
+   * As {@link #initBrowserBeforeTest(Supplier)} with a hint that pools may use
+   * to hand out the {@link Driver} which last ran a related test.
+   *
+   * <p>The default implementation ignores the affinity key.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   * @param affinityKey    identifies related tests, e.g. the test class name,
+   *                       may be {@code null}
+   */
+  default void initBrowserBeforeTest(Supplier<Driver> driverSupplier, String affinityKey) {
+    initBrowserBeforeTest(driverSupplier);
+  }
+
+  /**
+   * As {@link #initBrowserBeforeTest(Supplier, String)} but for a test which
+   * requires a specific browser.
+   *
+   * <p>The default implementation creates the {@link Driver} from the factory
+   * via {@link #initBrowserBeforeTest(Supplier, String)}, so lifecycles which
+   * pool drivers for a single browser should be wrapped in a
+   * {@link KeyedDriverLifecycle}.
+   *
+   * @param browserSpec   the browser required by the test
+   * @param affinityKey   identifies related tests, may be {@code null}
+   * @param driverFactory creates {@link Driver}s for a given {@link BrowserSpec}
+   */
+  default void initBrowserBeforeTest(
+      BrowserSpec browserSpec,
+      String affinityKey,
+      Function<BrowserSpec, Driver> driverFactory) {
+    initBrowserBeforeTest(() -> driverFactory.apply(browserSpec), affinityKey);
+  }
+
   /**
    * @return the {@link WebDriver} in use by the current thread.
    * @throws NullPointerException if called before
@@ -54,6 +91,22 @@ public interface DriverLifecycle {
    */
   void tearDownDriver();
 
+  /**
+   * Releases any {@link Driver} kept for the tests of a class.
+   *
+   * @param affinityKey identifies the test class, as passed to
+   *                    {@link #initBrowserBeforeTest(Supplier, String)}
+   */
+  default void afterTestClass(String affinityKey) {
+  }
+
+  /**
+   * Resets any idle {@link Driver}s kept for later tests, so the next suite
+   * run in this JVM starts as if with new browsers.
+   */
+  default void resetIdleDrivers() {
+  }
+
   /**
    * Clears the driver pool, if exists, ready to run run
    * {@link #initDriverPool(Supplier)} again if required.
@@ -0,0 +1,340 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An elastic pool of {@link Driver}s.
+ *
+ * <p>The pool keeps {@code poolSize + spareDrivers} live {@link Driver}s.
+ * Whenever a {@link Driver} is discarded, e.g. because its browser crashed,
+ * a replacement is created in the background so the pool stays full for the
+ * whole suite.
+ *
+ * <p>Drivers are created on a dedicated executor with, by default, one thread
+ * per driver because creation is I/O bound. {@link #fill()} returns as soon as
+ * the first driver is ready so tests can start while the rest are created.
+ *
+ * <p>Drivers are health checked when acquired and when released. Drivers which
+ * fail the check are evicted: quit in the background and replaced. Healthy
+ * drivers which reach a limit of the {@link DriverRecyclePolicy} when
+ * released are recycled the same way.
+ *
+ * <p>Tests may pass an affinity key, e.g. their class name, when acquiring. The
+ * pool then prefers the idle driver which last ran a test with the same key,
+ * so it has warm caches for the pages under test, and otherwise hands out the
+ * least recently used driver.
+ */
+public class DriverPool {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final int QUITTER_THREADS = 2;
+  private static final Duration CLOSE_TIMEOUT = Duration.ofMinutes(2);
+
+  private final Supplier<Driver> driverSupplier;
+  private final int poolSize;
+  private final int targetSize;
+  private final Duration acquireTimeout;
+  private final BlockingDeque<Driver> idleDrivers = new LinkedBlockingDeque<>();
+  /** Drivers which are idle, in use or being created. */
+  private final AtomicInteger liveDrivers = new AtomicInteger();
+  /** The affinity key of the last test to use each driver. */
+  private final Map<Driver, String> affinityKeys = new ConcurrentHashMap<>();
+  private final ExecutorService creator;
+  private final CompletableFuture<Void> firstDriverReady = new CompletableFuture<>();
+  private final DriverQuitter quitter;
+  private final DriverPoolStats stats = new DriverPoolStats();
+  private final DriverHealthCheck healthCheck;
+  private final DriverRecyclePolicy recyclePolicy;
+  private volatile boolean closed;
+
+  /**
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   * @param config         the size and timeouts of the pool
+   */
+  public DriverPool(Supplier<Driver> driverSupplier, DriverPoolConfig config) {
+    if (config.getPoolSize() < 1 || config.getSpareDrivers() < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid pool size %d with %d spare drivers",
+          config.getPoolSize(), config.getSpareDrivers()));
+    }
+    this.driverSupplier = driverSupplier;
+    this.poolSize = config.getPoolSize();
+    this.targetSize = poolSize + config.getSpareDrivers();
+    this.acquireTimeout = config.getAcquireTimeout();
+    this.healthCheck = new DriverHealthCheck(config.getHealthCheckTimeout(), stats);
+    this.recyclePolicy = new DriverRecyclePolicy(
+        config.getMaxTestsPerDriver(), config.getMaxDriverAge(), config.getMaxHeapBytes());
+    this.quitter = new DriverQuitter(QUITTER_THREADS, Math.max(16, targetSize));
+    this.creator = Executors.newFixedThreadPool(
+        config.getCreationThreads().orElse(targetSize),
+        new ThreadFactoryBuilder()
+            .setNameFormat("driver-pool-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * Starts creating all the {@link Driver}s in the background and waits, for
+   * up to the acquire timeout, until the first one is ready.
+   *
+   * @throws RuntimeException the cause of failure if every driver fails to start
+   * @throws NoSuchElementException if no driver is ready in time
+   */
+  public void fill() {
+    replenish();
+    try {
+      firstDriverReady.get(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a Driver", e);
+    } catch (TimeoutException e) {
+      throw new NoSuchElementException(
+          "No Driver became available within " + acquireTimeout);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Failed to create any Driver", e.getCause());
+    }
+  }
+
+  /**
+   * Takes the least recently used healthy {@link Driver}, blocking for up to
+   * the acquire timeout if none are idle. Unhealthy drivers are evicted.
+   *
+   * @return the next available {@link Driver}
+   * @throws NoSuchElementException if no driver becomes available in time
+   */
+  public Driver acquire() {
+    return acquire(null);
+  }
+
+  /**
+   * As {@link #acquire()} but prefers the idle {@link Driver} which was last
+   * acquired with the same affinity key.
+   *
+   * @param affinityKey identifies related tests, e.g. the test class name,
+   *                    or {@code null} for no preference
+   * @return the next available {@link Driver}
+   * @throws NoSuchElementException if no driver becomes available in time
+   */
+  public Driver acquire(String affinityKey) {
+    long deadline = System.nanoTime() + acquireTimeout.toNanos();
+    try {
+      while (true) {
+        replenish();
+        Driver driver = pollAffine(affinityKey);
+        boolean affinityHit = driver != null;
+        if (driver == null) {
+          driver = idleDrivers.pollFirst(
+              Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        if (driver == null) {
+          throw new NoSuchElementException(
+              "No Driver became available within " + acquireTimeout);
+        }
+        if (healthCheck.isHealthy(driver)) {
+          if (affinityKey != null) {
+            stats.recordAffinity(affinityHit);
+            affinityKeys.put(driver, affinityKey);
+          }
+          return driver;
+        }
+        discard(driver);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a Driver", e);
+    }
+  }
+
+  /**
+   * Returns a {@link Driver} to the pool if it passes the health check,
+   * otherwise it is evicted. A healthy driver which has reached a limit of
+   * the {@link DriverRecyclePolicy} is quit and replaced instead.
+   *
+   * @param driver the {@link Driver} to make available again
+   */
+  public void release(Driver driver) {
+    if (closed) {
+      quitter.quitAsync(driver);
+    } else if (!healthCheck.isHealthy(driver)) {
+      discard(driver);
+    } else {
+      Optional<String> recycleReason = recyclePolicy.check(driver);
+      if (recycleReason.isPresent()) {
+        logger.info("Recycling browser which {}.", recycleReason.get());
+        stats.recordRecycle();
+        remove(driver);
+      } else {
+        idleDrivers.addLast(driver);
+      }
+    }
+  }
+
+  /**
+   * Evicts a broken {@link Driver}: it is quit and a replacement is created
+   * in the background.
+   *
+   * @param driver the {@link Driver} to remove from the pool
+   */
+  public void discard(Driver driver) {
+    logger.warn("Evicting browser from the pool.");
+    stats.recordEviction();
+    remove(driver);
+  }
+
+  private void remove(Driver driver) {
+    affinityKeys.remove(driver);
+    recyclePolicy.forget(driver);
+    liveDrivers.decrementAndGet();
+    quitter.quitAsync(driver);
+    replenish();
+  }
+
+  /**
+   * Replaces every idle {@link Driver}, in the background, so tests which run
+   * next start in a new browser. Deleting cookies would only clear those of
+   * the current domain, while other domains' cookies, storage, cache and
+   * service workers would outlive it. Should only be called while no tests
+   * are running.
+   */
+  public void resetIdle() {
+    List<Driver> drivers = new ArrayList<>();
+    idleDrivers.drainTo(drivers);
+    if (!drivers.isEmpty()) {
+      logger.info("Replacing {} idle browsers.", drivers.size());
+    }
+    for (Driver driver : drivers) {
+      stats.recordRecycle();
+      remove(driver);
+    }
+  }
+
+  /**
+   * Stops replenishing, waits for in-flight creation to finish and then calls
+   * {@code quit()} on every idle {@link Driver}.
+   */
+  public void close() {
+    closed = true;
+    creator.shutdown();
+    try {
+      if (!creator.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        logger.warn("Timed out waiting for drivers still being created.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    Driver driver;
+    while ((driver = idleDrivers.pollFirst()) != null) {
+      quitter.quitAsync(driver);
+    }
+    quitter.awaitCompletion(CLOSE_TIMEOUT);
+    affinityKeys.clear();
+    logger.info("Driver pool closed: {}", stats);
+  }
+
+  /**
+   * @return health check and eviction metrics for this pool
+   */
+  public DriverPoolStats getStats() {
+    return stats;
+  }
+
+  /**
+   * @return the number of {@link Driver}s waiting to be acquired
+   */
+  public int getIdleCount() {
+    return idleDrivers.size();
+  }
+
+  /**
+   * @return the number of {@link Driver}s which are idle, in use or being created
+   */
+  public int getLiveCount() {
+    return liveDrivers.get();
+  }
+
+  /**
+   * @return the most recently released idle driver last used with the given
+   *     key, or {@code null} if there is none
+   */
+  private Driver pollAffine(String affinityKey) {
+    if (affinityKey == null) {
+      return null;
+    }
+    Iterator<Driver> newestFirst = idleDrivers.descendingIterator();
+    while (newestFirst.hasNext()) {
+      Driver driver = newestFirst.next();
+      // removal fails if another thread took the driver first
+      if (affinityKey.equals(affinityKeys.get(driver))
+          && idleDrivers.removeFirstOccurrence(driver)) {
+        return driver;
+      }
+    }
+    return null;
+  }
+
+  private void replenish() {
+    int live;
+    while (!closed && (live = liveDrivers.get()) < targetSize) {
+      // reserve all missing drivers at once, so the count only reaches zero
+      // when every creation has failed
+      if (liveDrivers.compareAndSet(live, targetSize)) {
+        for (int i = live; i < targetSize; i++) {
+          try {
+            creator.execute(this::createDriver);
+          } catch (RejectedExecutionException e) {
+            // closed concurrently
+            liveDrivers.addAndGet(i - targetSize);
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void createDriver() {
+    try {
+      Driver driver = driverSupplier.get();
+      logger.debug("Added new driver to pool.");
+      if (closed) {
+        quitter.quitAsync(driver);
+      } else {
+        recyclePolicy.track(driver);
+        idleDrivers.addLast(driver);
+        firstDriverReady.complete(null);
+      }
+    } catch (Exception e) {
+      // logged first as fill() may rethrow e on another thread
+      logger.error("Failed to create a driver for the pool.");
+      logger.debug("Failed to create a driver for the pool.", e);
+      // the next acquire or discard will try again
+      if (liveDrivers.decrementAndGet() == 0) {
+        firstDriverReady.completeExceptionally(e);
+      }
+    }
+  }
+}
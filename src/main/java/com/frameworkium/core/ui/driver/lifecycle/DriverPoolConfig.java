@@ -0,0 +1,182 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.driver.BrowserSpec;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Settings for a {@link DriverPool}.
+ */
+public class DriverPoolConfig {
+
+  public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(60);
+
+  private int poolSize = 1;
+  private int spareDrivers = 0;
+  private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+  private Duration healthCheckTimeout = DriverHealthCheck.DEFAULT_TIMEOUT;
+  private Integer creationThreads;
+  private int maxTestsPerDriver = 0;
+  private Duration maxDriverAge = Duration.ZERO;
+  private long maxHeapBytes = 0;
+
+  /**
+   * @return config based on {@link Property#THREADS} and the pool properties
+   */
+  public static DriverPoolConfig fromProperties() {
+    return fromProperties(Property.THREADS.getIntWithDefault(1));
+  }
+
+  /**
+   * The pool size for the browser is taken from {@link Property#POOL_SIZES},
+   * e.g. {@code chrome=4,firefox=2}, falling back to {@link Property#THREADS}.
+   *
+   * @param browserSpec the browser the pool is for
+   * @return config based on the pool properties for the given browser
+   */
+  public static DriverPoolConfig fromProperties(BrowserSpec browserSpec) {
+    int poolSize = Property.THREADS.getIntWithDefault(1);
+    if (Property.POOL_SIZES.isSpecified()) {
+      String browser = browserSpec.getBrowser().name();
+      for (String entry : Property.POOL_SIZES.getValue().split(",")) {
+        String[] browserAndSize = entry.split("=");
+        if (browserAndSize.length == 2
+            && browserAndSize[0].trim().equalsIgnoreCase(browser)) {
+          poolSize = parsePoolSize(browserAndSize[1]);
+        }
+      }
+    }
+    return fromProperties(poolSize);
+  }
+
+  private static DriverPoolConfig fromProperties(int poolSize) {
+    DriverPoolConfig config = new DriverPoolConfig()
+        .withPoolSize(poolSize)
+        .withSpareDrivers(Property.POOL_SPARE_DRIVERS.getIntWithDefault(0));
+    if (Property.POOL_ACQUIRE_TIMEOUT.isSpecified()) {
+      config.withAcquireTimeout(
+          Duration.ofSeconds(Property.POOL_ACQUIRE_TIMEOUT.getIntWithDefault(0)));
+    }
+    if (Property.POOL_CREATION_THREADS.isSpecified()) {
+      config.withCreationThreads(Property.POOL_CREATION_THREADS.getIntWithDefault(1));
+    }
+    if (Property.HEALTH_CHECK_TIMEOUT.isSpecified()) {
+      config.withHealthCheckTimeout(
+          Duration.ofMillis(Property.HEALTH_CHECK_TIMEOUT.getIntWithDefault(0)));
+    }
+    return config
+        .withMaxTestsPerDriver(Property.POOL_MAX_TESTS.getIntWithDefault(0))
+        .withMaxDriverAge(Duration.ofSeconds(Property.POOL_MAX_AGE.getIntWithDefault(0)))
+        .withMaxHeapBytes(Property.POOL_MAX_HEAP.getIntWithDefault(0) * 1024L * 1024L);
+  }
+
+  private static int parsePoolSize(String poolSize) {
+    try {
+      return Integer.parseInt(poolSize.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid poolSizes '"
+          + Property.POOL_SIZES.getValue() + "', expected e.g. chrome=4,firefox=2", e);
+    }
+  }
+
+  /**
+   * @param poolSize the number of drivers required by concurrent tests
+   */
+  public DriverPoolConfig withPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  /**
+   * @param spareDrivers the number of extra drivers to keep warm
+   */
+  public DriverPoolConfig withSpareDrivers(int spareDrivers) {
+    this.spareDrivers = spareDrivers;
+    return this;
+  }
+
+  /**
+   * @param acquireTimeout the maximum time to wait for an available driver
+   */
+  public DriverPoolConfig withAcquireTimeout(Duration acquireTimeout) {
+    this.acquireTimeout = acquireTimeout;
+    return this;
+  }
+
+  /**
+   * @param healthCheckTimeout the maximum time a liveness check may take
+   */
+  public DriverPoolConfig withHealthCheckTimeout(Duration healthCheckTimeout) {
+    this.healthCheckTimeout = healthCheckTimeout;
+    return this;
+  }
+
+  /**
+   * @param creationThreads the maximum number of drivers created concurrently,
+   *                        by default all drivers are created concurrently
+   */
+  public DriverPoolConfig withCreationThreads(int creationThreads) {
+    this.creationThreads = creationThreads;
+    return this;
+  }
+
+  /**
+   * @param maxTestsPerDriver the most tests a driver may run before it is
+   *                          replaced, or 0 for no limit
+   */
+  public DriverPoolConfig withMaxTestsPerDriver(int maxTestsPerDriver) {
+    this.maxTestsPerDriver = maxTestsPerDriver;
+    return this;
+  }
+
+  /**
+   * @param maxDriverAge the longest a driver may live before it is replaced,
+   *                     or zero for no limit
+   */
+  public DriverPoolConfig withMaxDriverAge(Duration maxDriverAge) {
+    this.maxDriverAge = maxDriverAge;
+    return this;
+  }
+
+  /**
+   * @param maxHeapBytes the largest Javascript heap a page may have after a
+   *                     test before the driver is replaced, or 0 for no limit
+   */
+  public DriverPoolConfig withMaxHeapBytes(long maxHeapBytes) {
+    this.maxHeapBytes = maxHeapBytes;
+    return this;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public int getSpareDrivers() {
+    return spareDrivers;
+  }
+
+  public Duration getAcquireTimeout() {
+    return acquireTimeout;
+  }
+
+  public Duration getHealthCheckTimeout() {
+    return healthCheckTimeout;
+  }
+
+  public Optional<Integer> getCreationThreads() {
+    return Optional.ofNullable(creationThreads);
+  }
+
+  public int getMaxTestsPerDriver() {
+    return maxTestsPerDriver;
+  }
+
+  public Duration getMaxDriverAge() {
+    return maxDriverAge;
+  }
+
+  public long getMaxHeapBytes() {
+    return maxHeapBytes;
+  }
+}
@@ -0,0 +1,110 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe counters describing the behaviour of a {@link DriverPool}.
+ */
+public class DriverPoolStats {
+
+  private final AtomicLong healthChecks = new AtomicLong();
+  private final AtomicLong healthCheckNanos = new AtomicLong();
+  private final AtomicLong maxHealthCheckNanos = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong recycles = new AtomicLong();
+  private final AtomicLong affinityHits = new AtomicLong();
+  private final AtomicLong affinityMisses = new AtomicLong();
+
+  void recordHealthCheck(long nanos) {
+    healthChecks.incrementAndGet();
+    healthCheckNanos.addAndGet(nanos);
+    maxHealthCheckNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  void recordEviction() {
+    evictions.incrementAndGet();
+  }
+
+  void recordRecycle() {
+    recycles.incrementAndGet();
+  }
+
+  void recordAffinity(boolean hit) {
+    (hit ? affinityHits : affinityMisses).incrementAndGet();
+  }
+
+  public long getHealthChecks() {
+    return healthChecks.get();
+  }
+
+  /**
+   * @return the mean health check latency in milliseconds, or 0 if none
+   */
+  public double getMeanHealthCheckMillis() {
+    long checks = healthChecks.get();
+    return checks == 0
+        ? 0
+        : healthCheckNanos.get() / (double) checks / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public long getMaxHealthCheckMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxHealthCheckNanos.get());
+  }
+
+  /**
+   * @return the number of drivers removed from the pool and replaced
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  /**
+   * @return the number of healthy drivers replaced because they reached a
+   *     limit of the {@link DriverRecyclePolicy}
+   */
+  public long getRecycles() {
+    return recycles.get();
+  }
+
+  /**
+   * @return the number of acquires which got the driver last used by a
+   *     related test
+   */
+  public long getAffinityHits() {
+    return affinityHits.get();
+  }
+
+  /**
+   * @return the number of acquires with an affinity key which got the least
+   *     recently used driver instead
+   */
+  public long getAffinityMisses() {
+    return affinityMisses.get();
+  }
+
+  /**
+   * @return the proportion of acquires with an affinity key which were hits,
+   *     or 0 if none
+   */
+  public double getAffinityHitRate() {
+    long hits = affinityHits.get();
+    long total = hits + affinityMisses.get();
+    return total == 0 ? 0 : hits / (double) total;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "health checks=%d (mean %.1fms, max %dms), evictions=%d, recycles=%d,"
+            + " affinity hits=%d misses=%d (%.0f%%)",
+        getHealthChecks(),
+        getMeanHealthCheckMillis(),
+        getMaxHealthCheckMillis(),
+        getEvictions(),
+        getRecycles(),
+        getAffinityHits(),
+        getAffinityMisses(),
+        getAffinityHitRate() * 100);
+  }
+}
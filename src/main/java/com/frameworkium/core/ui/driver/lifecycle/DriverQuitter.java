@@ -0,0 +1,85 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Calls {@code quit()} on {@link Driver}s using a bounded pool of background
+ * threads.
+ *
+ * <p>When the queue is full, or after {@link #awaitCompletion(Duration)} has
+ * been called, the {@link Driver} is quit on the calling thread instead.
+ */
+public class DriverQuitter {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * @param threads   the number of threads used to quit drivers
+   * @param queueSize the number of drivers which can wait to be quit
+   */
+  public DriverQuitter(int threads, int queueSize) {
+    this.executor = new ThreadPoolExecutor(
+        threads, threads,
+        30L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueSize),
+        new ThreadFactoryBuilder()
+            .setNameFormat("driver-quitter-%d")
+            .setDaemon(true)
+            .build(),
+        (task, ex) -> task.run());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Calls {@code quit()} on the underlying {@link org.openqa.selenium.WebDriver},
+   * logging rather than throwing on failure.
+   *
+   * @param driver the {@link Driver} to quit
+   */
+  public static void quit(Driver driver) {
+    try {
+      driver.getWebDriver().quit();
+    } catch (Exception e) {
+      logger.error("Failed to quit browser.");
+      logger.debug("Failed to quit browser.", e);
+    }
+  }
+
+  /**
+   * @param driver the {@link Driver} to quit in the background
+   */
+  public void quitAsync(Driver driver) {
+    executor.execute(() -> quit(driver));
+  }
+
+  /**
+   * Stops accepting background work and waits for outstanding quits.
+   *
+   * @param timeout the maximum time to wait
+   * @return true if all outstanding quits finished before the timeout
+   */
+  public boolean awaitCompletion(Duration timeout) {
+    executor.shutdown();
+    try {
+      boolean finished =
+          executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      if (!finished) {
+        logger.warn("Timed out waiting for {} browser(s) to quit.",
+            executor.getActiveCount() + executor.getQueue().size());
+      }
+      return finished;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Decides when a pooled {@link Driver} should be replaced with a fresh one,
+ * before leaked DOM, service workers and growing heaps slow its tests down.
+ *
+ * <p>A driver is recycled once it has run the maximum number of tests, is
+ * older than the maximum age, or, in browsers which report
+ * {@code performance.memory}, e.g. Chrome, the page's Javascript heap is
+ * larger than the maximum heap size. Each limit is off unless set.
+ */
+public class DriverRecyclePolicy {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String HEAP_SIZE_SCRIPT =
+      "return window.performance && performance.memory"
+          + " ? performance.memory.usedJSHeapSize : null;";
+
+  private final int maxTests;
+  private final Duration maxAge;
+  private final long maxHeapBytes;
+  private final Map<Driver, Usage> usages = new ConcurrentHashMap<>();
+
+  /**
+   * @param maxTests     the most tests a driver may run, or 0 for no limit
+   * @param maxAge       the longest a driver may live, or zero for no limit
+   * @param maxHeapBytes the largest Javascript heap a page may have after a
+   *                     test, or 0 for no limit
+   */
+  public DriverRecyclePolicy(int maxTests, Duration maxAge, long maxHeapBytes) {
+    this.maxTests = maxTests;
+    this.maxAge = maxAge;
+    this.maxHeapBytes = maxHeapBytes;
+  }
+
+  /**
+   * Starts counting the age and tests of a new driver.
+   */
+  void track(Driver driver) {
+    usages.put(driver, new Usage());
+  }
+
+  /**
+   * Stops tracking a driver which has left the pool.
+   */
+  void forget(Driver driver) {
+    usages.remove(driver);
+  }
+
+  /**
+   * Counts the test the driver has just run and checks it against the limits.
+   *
+   * @param driver the driver returned to the pool
+   * @return the reason to recycle the driver, or empty to keep it
+   */
+  Optional<String> check(Driver driver) {
+    Usage usage = usages.computeIfAbsent(driver, d -> new Usage());
+    int tests = usage.tests.incrementAndGet();
+    if (maxTests > 0 && tests >= maxTests) {
+      return Optional.of("ran " + tests + " tests");
+    }
+    Duration age = Duration.ofNanos(System.nanoTime() - usage.createdNanos);
+    if (!maxAge.isZero() && age.compareTo(maxAge) >= 0) {
+      return Optional.of("is " + age.getSeconds() + "s old");
+    }
+    if (maxHeapBytes > 0) {
+      long heapBytes = getHeapBytes(driver.getWebDriver());
+      if (heapBytes >= maxHeapBytes) {
+        return Optional.of("has a " + (heapBytes >> 20) + "MB Javascript heap");
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return the used Javascript heap of the current page, or 0 if the
+   *     browser does not report it
+   */
+  private static long getHeapBytes(WebDriver webDriver) {
+    if (Driver.isNative() || !(webDriver instanceof JavascriptExecutor)) {
+      return 0;
+    }
+    try {
+      Object heapBytes = ((JavascriptExecutor) webDriver).executeScript(HEAP_SIZE_SCRIPT);
+      return heapBytes instanceof Number ? ((Number) heapBytes).longValue() : 0;
+    } catch (RuntimeException e) {
+      // the health check decides whether the browser is broken
+      logger.debug("Failed to read Javascript heap size.", e);
+      return 0;
+    }
+  }
+
+  private static final class Usage {
+
+    private final long createdNanos = System.nanoTime();
+    private final AtomicInteger tests = new AtomicInteger();
+  }
+}
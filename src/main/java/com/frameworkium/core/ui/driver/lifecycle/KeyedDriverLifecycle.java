@@ -0,0 +1,166 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.BrowserSpec;
+import com.frameworkium.core.ui.driver.Driver;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Keeps a separate {@link DriverLifecycle}, e.g. a pool, for each
+ * {@link BrowserSpec} so one suite can run tests against several browsers.
+ *
+ * <p>The lifecycle for the default {@link BrowserSpec} is initialised by
+ * {@link #initDriverPool(Supplier)}. Lifecycles for other specs are created
+ * and initialised when a test first requires them.
+ *
+ * @see DriverLifecycle
+ */
+public class KeyedDriverLifecycle implements DriverLifecycle {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private final ThreadLocal<DriverLifecycle> threadLocalLifecycle = new ThreadLocal<>();
+  private final Map<BrowserSpec, CompletableFuture<DriverLifecycle>> lifecycles =
+      new ConcurrentHashMap<>();
+  private final BrowserSpec defaultSpec;
+  private final Function<BrowserSpec, DriverLifecycle> lifecycleFactory;
+
+  /**
+   * @param defaultSpec      the {@link BrowserSpec} used when a test does not
+   *                         require a specific browser
+   * @param lifecycleFactory creates the {@link DriverLifecycle}, sized as
+   *                         required, for a {@link BrowserSpec}
+   */
+  public KeyedDriverLifecycle(
+      BrowserSpec defaultSpec, Function<BrowserSpec, DriverLifecycle> lifecycleFactory) {
+    this.defaultSpec = defaultSpec;
+    this.lifecycleFactory = lifecycleFactory;
+  }
+
+  /**
+   * Initialises the {@link DriverLifecycle} for the default {@link BrowserSpec}.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   * @throws IllegalStateException if trying to re-initialise existing pool
+   */
+  @Override
+  public void initDriverPool(Supplier<Driver> driverSupplier) {
+    if (lifecycles.containsKey(defaultSpec)) {
+      throw new IllegalStateException(
+          "initDriverPool called when already initialised");
+    }
+    lifecycleFor(defaultSpec, spec -> driverSupplier.get());
+  }
+
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier) {
+    initBrowserBeforeTest(driverSupplier, null);
+  }
+
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier, String affinityKey) {
+    initBrowserBeforeTest(defaultSpec, affinityKey, spec -> driverSupplier.get());
+  }
+
+  /**
+   * Borrows a {@link Driver} from the {@link DriverLifecycle} for the given
+   * {@link BrowserSpec}, creating and initialising it if required.
+   *
+   * @param browserSpec   the browser required by the test
+   * @param affinityKey   identifies related tests, may be {@code null}
+   * @param driverFactory creates {@link Driver}s for a given {@link BrowserSpec}
+   */
+  @Override
+  public void initBrowserBeforeTest(
+      BrowserSpec browserSpec,
+      String affinityKey,
+      Function<BrowserSpec, Driver> driverFactory) {
+    DriverLifecycle lifecycle = lifecycleFor(browserSpec, driverFactory);
+    lifecycle.initBrowserBeforeTest(() -> driverFactory.apply(browserSpec), affinityKey);
+    threadLocalLifecycle.set(lifecycle);
+  }
+
+  @Override
+  public WebDriver getWebDriver() {
+    return threadLocalLifecycle.get().getWebDriver();
+  }
+
+  @Override
+  public void tearDownDriver() {
+    try {
+      threadLocalLifecycle.get().tearDownDriver();
+    } finally {
+      threadLocalLifecycle.remove();
+    }
+  }
+
+  @Override
+  public void afterTestClass(String affinityKey) {
+    initialisedLifecycles().forEach(lifecycle -> lifecycle.afterTestClass(affinityKey));
+  }
+
+  @Override
+  public void resetIdleDrivers() {
+    initialisedLifecycles().forEach(DriverLifecycle::resetIdleDrivers);
+  }
+
+  /**
+   * Tears down every {@link DriverLifecycle} ready for re-initialisation.
+   */
+  @Override
+  public void tearDownDriverPool() {
+    initialisedLifecycles().forEach(DriverLifecycle::tearDownDriverPool);
+    lifecycles.clear();
+  }
+
+  private DriverLifecycle lifecycleFor(
+      BrowserSpec browserSpec, Function<BrowserSpec, Driver> driverFactory) {
+    CompletableFuture<DriverLifecycle> lifecycle = new CompletableFuture<>();
+    CompletableFuture<DriverLifecycle> existing = lifecycles.putIfAbsent(browserSpec, lifecycle);
+    if (existing != null) {
+      // other tests requiring the same spec wait until it is initialised
+      return join(existing);
+    }
+    // initialised outside the map, so other specs' lifecycles aren't blocked
+    try {
+      logger.info("Initialising drivers for {}", browserSpec);
+      DriverLifecycle created = lifecycleFactory.apply(browserSpec);
+      created.initDriverPool(() -> driverFactory.apply(browserSpec));
+      lifecycle.complete(created);
+    } catch (RuntimeException e) {
+      // the next test requiring the spec tries again
+      lifecycles.remove(browserSpec, lifecycle);
+      lifecycle.completeExceptionally(e);
+    }
+    return join(lifecycle);
+  }
+
+  private static DriverLifecycle join(CompletableFuture<DriverLifecycle> lifecycle) {
+    try {
+      return lifecycle.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException
+          ? (RuntimeException) e.getCause()
+          : e;
+    }
+  }
+
+  /**
+   * @return the lifecycles which have been initialised successfully
+   */
+  private List<DriverLifecycle> initialisedLifecycles() {
+    return lifecycles.values().stream()
+        .filter(lifecycle -> lifecycle.isDone() && !lifecycle.isCompletedExceptionally())
+        .map(CompletableFuture::join)
+        .collect(Collectors.toList());
+  }
+}
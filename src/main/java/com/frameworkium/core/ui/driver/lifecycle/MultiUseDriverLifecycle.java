@@ -1,31 +1,36 @@
 package com.frameworkium.core.ui.driver.lifecycle;
 
 import com.frameworkium.core.ui.driver.Driver;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
 /**
  * @see DriverLifecycle
+ * @see DriverPool
  */
 public class MultiUseDriverLifecycle implements DriverLifecycle {
 
   private static final Logger logger = LogManager.getLogger();
   private static final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
-  private int poolSize;
-  private BlockingDeque<Driver> driverPool;
+  private final DriverPoolConfig config;
+  private DriverPool driverPool;
 
   public MultiUseDriverLifecycle(int poolSize) {
-    this.poolSize = poolSize;
+    this(new DriverPoolConfig().withPoolSize(poolSize));
   }
 
   /**
-   * Create {@link Driver}s in parallel and add them to the pool up to the
-   * size specified.
+   * @param config the size and timeouts of the {@link DriverPool}
+   */
+  public MultiUseDriverLifecycle(DriverPoolConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Starts creating {@link Driver}s in the background, up to the size
+   * specified, and returns once the first is ready to use.
    *
    * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
    * @throws IllegalStateException if trying to re-initialise existing pool
@@ -36,23 +41,42 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
       throw new IllegalStateException(
           "initDriverPool called when already initialised");
     }
-    driverPool = new LinkedBlockingDeque<>(poolSize);
-    IntStream.range(0, poolSize)
-        .parallel()
-        .mapToObj(i -> driverSupplier.get())
-        .forEach(driverPool::addLast);
+    driverPool = new DriverPool(driverSupplier, config);
+    driverPool.fill();
   }
 
   /**
    * Will set the current {@link ThreadLocal} {@link Driver} to be the next
-   * available from the pool.
+   * available from the pool, waiting up to the acquire timeout if required.
    *
    * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
-   * @throws java.util.NoSuchElementException if this pool is empty
+   * @throws java.util.NoSuchElementException if no driver becomes available
    */
   @Override
   public void initBrowserBeforeTest(Supplier<Driver> driverSupplier) {
-    threadLocalDriver.set(driverPool.removeFirst());
+    initBrowserBeforeTest(driverSupplier, null);
+  }
+
+  /**
+   * As {@link #initBrowserBeforeTest(Supplier)} but prefers the {@link Driver}
+   * which last ran a test with the same affinity key, falling back to the
+   * least recently used.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   * @param affinityKey    identifies related tests, may be {@code null}
+   * @throws java.util.NoSuchElementException if no driver becomes available
+   */
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier, String affinityKey) {
+    threadLocalDriver.set(driverPool.acquire(affinityKey));
+  }
+
+  /**
+   * @return health check, eviction and affinity metrics for the current pool
+   * @throws NullPointerException if the pool has not been initialised
+   */
+  public DriverPoolStats getPoolStats() {
+    return driverPool.getStats();
   }
 
   @Override
@@ -61,19 +85,20 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
   }
 
   /**
-   * If reuseBrowser is true, this will {@code deleteAllCookies} and then
-   * re-add the {@link Driver} back to the pool, else it will call {@code quit()}
-   * on the underlying {@link WebDriver}.
+   * This will {@code deleteAllCookies} and then re-add the {@link Driver} back
+   * to the pool, where it is health checked. If either fails the
+   * {@link Driver} is evicted and replaced in the background.
    */
   @Override
   public void tearDownDriver() {
+    Driver driver = threadLocalDriver.get();
     try {
-      Driver driver = threadLocalDriver.get();
       driver.getWebDriver().manage().deleteAllCookies();
-      driverPool.addLast(driver);
+      driverPool.release(driver);
     } catch (Exception e) {
       logger.error("Failed to tear down browser after test method.");
       logger.debug("Failed to tear down browser after test method.", e);
+      driverPool.discard(driver);
       throw e;
     } finally {
       threadLocalDriver.remove();
@@ -81,8 +106,18 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
   }
 
   /**
-   * Drains the pool, calls {@link WebDriver#quit} on every {@link Driver}
-   * remaining in the pool and sets the pool to {@code null}.
+   * Replaces every idle {@link Driver} in the pool with a new browser.
+   */
+  @Override
+  public void resetIdleDrivers() {
+    if (driverPool != null) {
+      driverPool.resetIdle();
+    }
+  }
+
+  /**
+   * Calls {@link WebDriver#quit} on every {@link Driver} remaining in the pool
+   * and sets the pool to {@code null}.
    */
   @Override
   public void tearDownDriverPool() {
@@ -90,17 +125,7 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
       return;
     }
 
-    driverPool.parallelStream()
-        .forEach(driver -> {
-          try {
-            driver.getWebDriver().quit();
-          } catch (Exception e) {
-            logger.error("Failed to quit a browser in the pool.");
-            logger.debug("Failed to quit a browser in the pool.", e);
-          }
-        });
-
+    driverPool.close();
     driverPool = null; // allows re-initialisation
   }
 }
-
@@ -0,0 +1,175 @@
+package com.frameworkium.core.ui.driver.lifecycle;
+
+import com.frameworkium.core.ui.driver.Driver;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Gives every test a fresh {@link Driver}, like {@link SingleUseDriverLifecycle},
+ * but starts creating the {@link Driver} for the next test on the same thread
+ * as soon as a test begins. Browser startup then overlaps test execution.
+ *
+ * <p>Prefetched drivers are health checked before use, and replaced if they
+ * crashed while idle. {@link #resetIdleDrivers()} and
+ * {@link #tearDownDriverPool()} quit any prefetched drivers which were never
+ * used.
+ *
+ * @see DriverLifecycle
+ */
+public class PrefetchingDriverLifecycle implements DriverLifecycle {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final Duration CLEAN_UP_TIMEOUT = Duration.ofMinutes(2);
+
+  private final ThreadLocal<Deque<Future<Driver>>> threadLocalPrefetched =
+      ThreadLocal.withInitial(ArrayDeque::new);
+  /** Every prefetch not yet taken by a test, across all threads. */
+  private final Set<Future<Driver>> outstanding = ConcurrentHashMap.newKeySet();
+  private final SingleUseDriverLifecycle delegate;
+  private final int prefetchPerThread;
+  private final ExecutorService prefetcher;
+  private final DriverHealthCheck healthCheck;
+
+  /**
+   * @param delegate          the lifecycle which uses and quits each driver
+   * @param prefetchPerThread the maximum number of drivers being created or
+   *                          waiting for each test thread
+   */
+  public PrefetchingDriverLifecycle(
+      SingleUseDriverLifecycle delegate, int prefetchPerThread) {
+    this(delegate, prefetchPerThread, DriverHealthCheck.fromProperties());
+  }
+
+  /**
+   * @param delegate          the lifecycle which uses and quits each driver
+   * @param prefetchPerThread the maximum number of drivers being created or
+   *                          waiting for each test thread
+   * @param healthCheck       checks each prefetched driver before it is used
+   */
+  PrefetchingDriverLifecycle(
+      SingleUseDriverLifecycle delegate, int prefetchPerThread, DriverHealthCheck healthCheck) {
+    if (prefetchPerThread < 1) {
+      throw new IllegalArgumentException(
+          "prefetchPerThread must be at least 1 but was " + prefetchPerThread);
+    }
+    this.delegate = delegate;
+    this.prefetchPerThread = prefetchPerThread;
+    this.healthCheck = healthCheck;
+    this.prefetcher = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder()
+            .setNameFormat("driver-prefetch-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * Uses the oldest prefetched {@link Driver} for this thread, or creates one
+   * if there is none, then prefetches drivers for the following tests.
+   *
+   * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+   */
+  @Override
+  public void initBrowserBeforeTest(Supplier<Driver> driverSupplier) {
+    Deque<Future<Driver>> prefetched = threadLocalPrefetched.get();
+    // forget those quit by resetIdleDrivers()
+    prefetched.removeIf(future -> !outstanding.contains(future));
+    Future<Driver> next = prefetched.pollFirst();
+    prefetch(driverSupplier);
+    delegate.initBrowserBeforeTest(() -> takeOrCreate(next, driverSupplier));
+  }
+
+  @Override
+  public WebDriver getWebDriver() {
+    return delegate.getWebDriver();
+  }
+
+  @Override
+  public void tearDownDriver() {
+    delegate.tearDownDriver();
+  }
+
+  /**
+   * Quits every prefetched {@link Driver} which was not used, so the next
+   * suite's tests start in new browsers. Should only be called while no tests
+   * are running.
+   */
+  @Override
+  public void resetIdleDrivers() {
+    quitOutstanding();
+  }
+
+  /**
+   * Quits every prefetched {@link Driver} which was not used, then waits for
+   * the delegate to finish tearing down.
+   */
+  @Override
+  public void tearDownDriverPool() {
+    prefetcher.shutdown();
+    quitOutstanding();
+    delegate.tearDownDriverPool();
+  }
+
+  private void quitOutstanding() {
+    long deadline = System.nanoTime() + CLEAN_UP_TIMEOUT.toNanos();
+    for (Future<Driver> future : outstanding) {
+      if (!outstanding.remove(future)) {
+        continue;
+      }
+      try {
+        DriverQuitter.quit(future.get(
+            Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Exception e) {
+        logger.warn("Failed to clean up a prefetched browser.");
+        logger.debug("Failed to clean up a prefetched browser.", e);
+      }
+    }
+  }
+
+  private void prefetch(Supplier<Driver> driverSupplier) {
+    Deque<Future<Driver>> prefetched = threadLocalPrefetched.get();
+    while (prefetched.size() < prefetchPerThread && !prefetcher.isShutdown()) {
+      Future<Driver> future = prefetcher.submit(driverSupplier::get);
+      outstanding.add(future);
+      prefetched.addLast(future);
+    }
+  }
+
+  private Driver takeOrCreate(Future<Driver> prefetched, Supplier<Driver> driverSupplier) {
+    if (prefetched == null || !outstanding.remove(prefetched)) {
+      return driverSupplier.get();
+    }
+    Driver driver;
+    try {
+      driver = prefetched.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a prefetched Driver", e);
+    } catch (ExecutionException e) {
+      logger.warn("Prefetched browser failed to start, creating another.");
+      logger.debug("Prefetched browser failed to start.", e.getCause());
+      return driverSupplier.get();
+    }
+    if (!healthCheck.isHealthy(driver)) {
+      logger.warn("Prefetched browser failed its health check, creating another.");
+      DriverQuitter.quit(driver);
+      return driverSupplier.get();
+    }
+    return driver;
+  }
+}
@@ -1,23 +1,47 @@
 package com.frameworkium.core.ui.driver.lifecycle;
 
 import com.frameworkium.core.ui.driver.Driver;
+import java.time.Duration;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
 /**
- * {@link #initDriverPool(Supplier)} and {@link #tearDownDriverPool()} do not do
- * anything for {@link SingleUseDriverLifecycle} and can be omitted.
+ * {@link #initDriverPool(Supplier)} does not do anything for
+ * {@link SingleUseDriverLifecycle} and can be omitted.
+ * {@link #tearDownDriverPool()} waits for any outstanding asynchronous
+ * teardown.
  *
  * @see DriverLifecycle
  */
 public class SingleUseDriverLifecycle implements DriverLifecycle {
 
+  public static final Duration ASYNC_TEARDOWN_TIMEOUT = Duration.ofMinutes(2);
+
   private static final Logger logger = LogManager.getLogger();
 
   private static final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
 
+  private final DriverQuitter quitter;
+
+  /**
+   * Each driver is quit on the test thread.
+   */
+  public SingleUseDriverLifecycle() {
+    this(null);
+  }
+
+  /**
+   * Each driver is quit in the background using the given {@link DriverQuitter}
+   * so the test thread can move straight on to the next test.
+   *
+   * @param quitter the {@link DriverQuitter}, or null to quit on the test thread
+   */
+  public SingleUseDriverLifecycle(DriverQuitter quitter) {
+    this.quitter = quitter;
+  }
+
   /**
    * Sets the {@link Driver} created by the supplied {@link Supplier} to the
    * {@link ThreadLocal} driver.
@@ -35,12 +59,17 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
   }
 
   /**
-   * Calls {@code quit()} on the underlying driver.
+   * Calls {@code quit()} on the underlying driver, in the background if a
+   * {@link DriverQuitter} was provided. Background failures are only logged.
    */
   @Override
   public void tearDownDriver() {
     try {
-      threadLocalDriver.get().getWebDriver().quit();
+      if (quitter != null) {
+        quitter.quitAsync(threadLocalDriver.get());
+      } else {
+        threadLocalDriver.get().getWebDriver().quit();
+      }
     } catch (Exception e) {
       logger.error("Failed to quit browser.");
       logger.debug("Failed to quit browser", e);
@@ -49,5 +78,15 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
       threadLocalDriver.remove();
     }
   }
-}
 
+  /**
+   * Waits up to {@link #ASYNC_TEARDOWN_TIMEOUT} for outstanding background
+   * quits. Any later teardown happens on the test thread.
+   */
+  @Override
+  public void tearDownDriverPool() {
+    if (quitter != null) {
+      quitter.awaitCompletion(ASYNC_TEARDOWN_TIMEOUT);
+    }
+  }
+}
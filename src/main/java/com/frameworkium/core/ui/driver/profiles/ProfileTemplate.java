@@ -0,0 +1,236 @@
+package com.frameworkium.core.ui.driver.profiles;
+
+import com.frameworkium.core.common.properties.Property;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A browser profile, built once per suite by visiting the
+ * {@link Property#PROFILE_WARM_UP_URLS}, which is copied for each new local
+ * browser so its first page loads are served from a warm disk cache.
+ *
+ * <p>Copies use copy-on-write reflinks where the filesystem supports them,
+ * falling back to a plain copy. Hard links are not used because browsers
+ * update cache and database files in place, which would corrupt the
+ * template and every other copy.
+ *
+ * <p>Each copy should be deleted with {@link #deleteCopy(Path)} once its
+ * browser quits. {@link #deleteAll()} removes every template, and any copies
+ * left, at the end of the suite.
+ */
+public final class ProfileTemplate {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final Map<String, CompletableFuture<Optional<ProfileTemplate>>> templates =
+      new ConcurrentHashMap<>();
+  /** Files which tie a profile to a running browser process. */
+  private static final Set<String> LOCK_FILES = Collections.unmodifiableSet(
+      Stream.of("SingletonLock", "SingletonSocket", "SingletonCookie",
+          "parent.lock", ".parentlock", "lock")
+          .collect(Collectors.toSet()));
+  private static final long COPY_TIMEOUT_SECONDS = 60;
+
+  private final String name;
+  private final Path templateDir;
+  private final Set<Path> copies = ConcurrentHashMap.newKeySet();
+
+  private ProfileTemplate(String name, Path templateDir) {
+    this.name = name;
+    this.templateDir = templateDir;
+  }
+
+  /**
+   * Returns the template for a browser, building it the first time it is
+   * required in the suite.
+   *
+   * @param name     identifies the browser, e.g. {@code chrome}
+   * @param launcher starts a browser using the given profile directory
+   * @return the template, or empty if {@link Property#PROFILE_WARM_UP_URLS}
+   *     is not set or the template could not be built
+   */
+  public static Optional<ProfileTemplate> forBrowser(
+      String name, Function<Path, WebDriver> launcher) {
+    if (!Property.PROFILE_WARM_UP_URLS.isSpecified()) {
+      return Optional.empty();
+    }
+    List<String> warmUpUrls = Arrays.stream(Property.PROFILE_WARM_UP_URLS.getValue().split(","))
+        .map(String::trim)
+        .filter(url -> !url.isEmpty())
+        .collect(Collectors.toList());
+    CompletableFuture<Optional<ProfileTemplate>> template = new CompletableFuture<>();
+    CompletableFuture<Optional<ProfileTemplate>> existing = templates.putIfAbsent(name, template);
+    if (existing != null) {
+      // other browsers of the same type wait until it is built
+      return existing.join();
+    }
+    template.complete(build(name, warmUpUrls, launcher));
+    return template.join();
+  }
+
+  static Optional<ProfileTemplate> build(
+      String name, List<String> warmUpUrls, Function<Path, WebDriver> launcher) {
+    long start = System.nanoTime();
+    Path templateDir = null;
+    try {
+      templateDir = Files.createTempDirectory("frameworkium-" + name + "-template");
+      WebDriver driver = launcher.apply(templateDir);
+      try {
+        warmUpUrls.forEach(driver::get);
+      } finally {
+        driver.quit();
+      }
+      logger.info("Built {} profile template in {}ms",
+          name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return Optional.of(new ProfileTemplate(name, templateDir));
+    } catch (Exception e) {
+      logger.warn("Failed to build {} profile template, using empty profiles.", name);
+      logger.debug("Failed to build profile template.", e);
+      if (templateDir != null) {
+        deleteTree(templateDir);
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return a new copy of the template for one browser session
+   * @throws UncheckedIOException if the copy fails
+   */
+  public Path createCopy() {
+    try {
+      Path copy = Files.createTempDirectory("frameworkium-" + name + "-profile");
+      copies.add(copy);
+      if (!reflinkCopy(copy)) {
+        copyTree(templateDir, copy);
+      }
+      for (String lockFile : LOCK_FILES) {
+        Files.deleteIfExists(copy.resolve(lockFile));
+      }
+      return copy;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to copy " + name + " profile template", e);
+    }
+  }
+
+  /**
+   * Deletes a copy once its browser has quit.
+   *
+   * @param copy a copy made by {@link #createCopy()}
+   */
+  public void deleteCopy(Path copy) {
+    if (copies.remove(copy)) {
+      deleteTree(copy);
+    }
+  }
+
+  /**
+   * @return the copies which have not been deleted
+   */
+  Set<Path> getCopies() {
+    return Collections.unmodifiableSet(copies);
+  }
+
+  Path getTemplateDir() {
+    return templateDir;
+  }
+
+  /**
+   * Deletes every template and copy, any later browsers get new templates.
+   */
+  public static void deleteAll() {
+    templates.values().forEach(template -> template.join().ifPresent(ProfileTemplate::delete));
+    templates.clear();
+  }
+
+  void delete() {
+    copies.forEach(ProfileTemplate::deleteTree);
+    copies.clear();
+    deleteTree(templateDir);
+  }
+
+  /**
+   * Uses {@code cp}, which clones files on copy-on-write filesystems such as
+   * btrfs, XFS and APFS.
+   *
+   * @return false if the copy could not be made this way
+   */
+  private boolean reflinkCopy(Path copy) {
+    String[] command;
+    if (SystemUtils.IS_OS_LINUX) {
+      command = new String[]{"cp", "-a", "--reflink=auto", templateDir + "/.", copy.toString()};
+    } else if (SystemUtils.IS_OS_MAC) {
+      command = new String[]{"cp", "-cR", templateDir + "/.", copy.toString()};
+    } else {
+      return false;
+    }
+    try {
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      if (process.waitFor(COPY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+          && process.exitValue() == 0) {
+        return true;
+      }
+      process.destroyForcibly();
+    } catch (IOException e) {
+      logger.debug("Unable to copy profile with cp.", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private static void copyTree(Path source, Path target) throws IOException {
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+          throws IOException {
+        Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+          throws IOException {
+        if (!LOCK_FILES.contains(file.getFileName().toString())) {
+          Files.copy(file, target.resolve(source.relativize(file).toString()),
+              StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private static void deleteTree(Path dir) {
+    if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      paths.sorted((a, b) -> b.getNameCount() - a.getNameCount())
+          .forEach(path -> path.toFile().delete());
+    } catch (IOException e) {
+      logger.debug("Failed to delete " + dir, e);
+    }
+  }
+}
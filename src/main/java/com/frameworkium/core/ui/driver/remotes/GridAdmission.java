@@ -0,0 +1,248 @@
+package com.frameworkium.core.ui.driver.remotes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.driver.lifecycle.AdmissionGate;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * Queues new session requests to a Selenium Grid so no more are in flight
+ * than the grid has free slots, rather than letting the grid time them out
+ * when it is saturated.
+ *
+ * <p>The free slots are read from the grid's {@code /status} endpoint, as
+ * reported by Selenium Grid 4, every couple of seconds. Each session created
+ * uses up a slot until the next read. Requests wait, in the order they were
+ * made, for up to {@link #DEFAULT_ADMISSION_TIMEOUT}.
+ */
+public class GridAdmission implements AutoCloseable {
+
+  public static final Duration DEFAULT_ADMISSION_TIMEOUT = Duration.ofMinutes(10);
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(2);
+  private static final int STATUS_TIMEOUT_MILLIS = 5000;
+
+  private static GridAdmission shared;
+
+  private final URL statusUrl;
+  private final Duration admissionTimeout;
+  private final AdmissionGate gate = new AdmissionGate(0);
+  private final ScheduledExecutorService refresher;
+  private int freeSlots;
+  private int totalSlots;
+  private int createdSinceRefresh;
+
+  GridAdmission(URL statusUrl, Duration refreshInterval, Duration admissionTimeout) {
+    this.statusUrl = statusUrl;
+    this.admissionTimeout = admissionTimeout;
+    this.refresher = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("grid-admission-%d")
+            .setDaemon(true)
+            .build());
+    refresher.scheduleWithFixedDelay(
+        this::refresh,
+        refreshInterval.toMillis(),
+        refreshInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Starts admitting new sessions to the grid at {@link Property#GRID_URL},
+   * unless its status does not report any slots.
+   */
+  public static synchronized void startShared() {
+    if (shared != null) {
+      return;
+    }
+    URL statusUrl;
+    try {
+      statusUrl = new URL(Property.GRID_URL.getValue().replaceAll("/+$", "") + "/status");
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException("Invalid gridURL " + Property.GRID_URL.getValue(), e);
+    }
+    GridAdmission admission =
+        new GridAdmission(statusUrl, REFRESH_INTERVAL, DEFAULT_ADMISSION_TIMEOUT);
+    if (admission.refresh()) {
+      shared = admission;
+    } else {
+      logger.warn("Grid status at {} does not report slots, not queueing sessions", statusUrl);
+      admission.close();
+    }
+  }
+
+  /**
+   * @return the admission started by {@link #startShared()}, if any
+   */
+  public static synchronized Optional<GridAdmission> getShared() {
+    return Optional.ofNullable(shared);
+  }
+
+  /**
+   * Stops the shared admission, if started.
+   */
+  public static synchronized void stopShared() {
+    if (shared != null) {
+      shared.close();
+      shared = null;
+    }
+  }
+
+  /**
+   * Waits for a free slot, then creates the session.
+   *
+   * @param createSession requests a new session from the grid
+   * @throws SessionNotCreatedException if no slot became free in time
+   */
+  public void admit(Runnable createSession) {
+    try {
+      if (!gate.tryEnter(Duration.ZERO)) {
+        logger.debug("Waiting for a free grid slot, {}", gate);
+        if (!gate.tryEnter(admissionTimeout)) {
+          throw new SessionNotCreatedException(
+              "No grid slot became free within " + admissionTimeout);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SessionNotCreatedException("Interrupted waiting for a free grid slot");
+    }
+    boolean created = false;
+    try {
+      createSession.run();
+      created = true;
+    } finally {
+      if (created) {
+        synchronized (this) {
+          createdSinceRefresh++;
+          resizeGate();
+        }
+      }
+      gate.exit();
+    }
+  }
+
+  /**
+   * Reads the free slots from the grid's status.
+   *
+   * @return false if the status could not be read or does not report slots
+   */
+  boolean refresh() {
+    Optional<int[]> slots = readStatus().flatMap(GridAdmission::countSlots);
+    if (!slots.isPresent()) {
+      return false;
+    }
+    synchronized (this) {
+      if (slots.get()[0] != freeSlots || slots.get()[1] != totalSlots) {
+        logger.info("Grid has {} of {} slots free", slots.get()[0], slots.get()[1]);
+      }
+      freeSlots = slots.get()[0];
+      totalSlots = slots.get()[1];
+      createdSinceRefresh = 0;
+      resizeGate();
+    }
+    return true;
+  }
+
+  private void resizeGate() {
+    gate.resize(freeSlots - createdSinceRefresh);
+  }
+
+  private Optional<Map<String, Object>> readStatus() {
+    try {
+      HttpURLConnection connection = (HttpURLConnection) statusUrl.openConnection();
+      connection.setConnectTimeout(STATUS_TIMEOUT_MILLIS);
+      connection.setReadTimeout(STATUS_TIMEOUT_MILLIS);
+      try (Reader body = new InputStreamReader(connection.getInputStream(), UTF_8)) {
+        return Optional.of(new Json().toType(body, Json.MAP_TYPE));
+      } finally {
+        connection.disconnect();
+      }
+    } catch (IOException | UncheckedIOException | JsonException e) {
+      logger.debug("Failed to read grid status from " + statusUrl, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Counts the slots of nodes which are up, limited by each node's maximum
+   * concurrent sessions.
+   *
+   * @param status the response of a Grid 4 {@code /status} endpoint
+   * @return the free and total slots, or empty if the status has no nodes
+   */
+  @SuppressWarnings("unchecked")
+  static Optional<int[]> countSlots(Map<String, Object> status) {
+    Object value = status.get("value");
+    Object nodes = value instanceof Map ? ((Map<String, Object>) value).get("nodes") : null;
+    if (!(nodes instanceof Collection)) {
+      return Optional.empty();
+    }
+    int free = 0;
+    int total = 0;
+    for (Object node : (Collection<Object>) nodes) {
+      Map<String, Object> nodeStatus = (Map<String, Object>) node;
+      Object slots = nodeStatus.get("slots");
+      if (!"UP".equals(nodeStatus.get("availability")) || !(slots instanceof Collection)) {
+        continue;
+      }
+      Collection<Map<String, Object>> nodeSlots = (Collection<Map<String, Object>>) slots;
+      long busy = nodeSlots.stream().filter(slot -> slot.get("session") != null).count();
+      int maxSessions = nodeStatus.get("maxSessions") instanceof Number
+          ? ((Number) nodeStatus.get("maxSessions")).intValue()
+          : nodeSlots.size();
+      int nodeTotal = Math.min(nodeSlots.size(), maxSessions);
+      total += nodeTotal;
+      free += Math.max(0, nodeTotal - (int) busy);
+    }
+    return Optional.of(new int[] {free, total});
+  }
+
+  /**
+   * @return the slots free at the last read of the grid's status
+   */
+  public synchronized int getFreeSlots() {
+    return freeSlots;
+  }
+
+  /**
+   * @return the slots of nodes which were up at the last read of the grid's
+   *     status
+   */
+  public synchronized int getTotalSlots() {
+    return totalSlots;
+  }
+
+  /**
+   * @return the session requests in flight and queued
+   */
+  public AdmissionGate getGate() {
+    return gate;
+  }
+
+  @Override
+  public void close() {
+    refresher.shutdownNow();
+  }
+}
@@ -0,0 +1,166 @@
+package com.frameworkium.core.ui.driver.remotes;
+
+import static com.frameworkium.core.common.properties.Property.GRID_COMPRESSION;
+import static com.frameworkium.core.common.properties.Property.GRID_READ_TIMEOUT;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.logging.LocalLogs;
+import org.openqa.selenium.logging.NeedsLocalLogs;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Filter;
+
+/**
+ * Sends the commands of remote browsers, e.g. on a Selenium Grid, Sauce Labs
+ * or BrowserStack, recording the time each command takes on the wire.
+ *
+ * <p>Every executor uses Selenium's default HTTP client, which keeps
+ * connections to each server alive in one pool shared by all browsers. The
+ * pool's connect timeout is Selenium's default, only the read timeout is set,
+ * by {@link com.frameworkium.core.common.properties.Property#GRID_READ_TIMEOUT}.
+ * Unless {@link com.frameworkium.core.common.properties.Property#GRID_COMPRESSION}
+ * is false, responses, e.g. screenshots, are requested gzipped.
+ */
+public class RemoteCommandExecutor implements CommandExecutor, NeedsLocalLogs {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(3);
+
+  private static final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+
+  private final CommandExecutor executor;
+
+  RemoteCommandExecutor(CommandExecutor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * @param remoteURL the URL of the remote server, e.g. the grid hub
+   * @return an executor for a new session on the server
+   */
+  public static RemoteCommandExecutor create(URL remoteURL) {
+    ClientConfig config = ClientConfig.defaultConfig()
+        .baseUrl(remoteURL)
+        .readTimeout(Duration.ofSeconds(
+            GRID_READ_TIMEOUT.getIntWithDefault((int) DEFAULT_READ_TIMEOUT.getSeconds())));
+    if (!GRID_COMPRESSION.isSpecified() || GRID_COMPRESSION.getBoolean()) {
+      config = config.withFilter(acceptGzip());
+    }
+    return new RemoteCommandExecutor(new HttpCommandExecutor(
+        Collections.emptyMap(), config, HttpCommandExecutor.getDefaultClientFactory()));
+  }
+
+  /**
+   * The HTTP client removes the encoding after decompressing the response.
+   */
+  static Filter acceptGzip() {
+    return next -> request -> {
+      if (request.getHeader("Accept-Encoding") == null) {
+        request.addHeader("Accept-Encoding", "gzip");
+      }
+      return next.execute(request);
+    };
+  }
+
+  @Override
+  public Response execute(Command command) throws IOException {
+    long start = System.nanoTime();
+    try {
+      return executor.execute(command);
+    } finally {
+      latencies.computeIfAbsent(command.getName(), name -> new Latency())
+          .record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void setLocalLogs(LocalLogs logs) {
+    if (executor instanceof NeedsLocalLogs) {
+      ((NeedsLocalLogs) executor).setLocalLogs(logs);
+    }
+  }
+
+  /**
+   * @return the latency of each command sent to remote servers, by command
+   *     name, e.g. {@code findElement}
+   */
+  public static Map<String, Latency> getLatencies() {
+    return Collections.unmodifiableMap(latencies);
+  }
+
+  /**
+   * Logs the latency of each command sent to remote servers, slowest in
+   * total first.
+   */
+  public static void logLatencySummary() {
+    if (latencies.isEmpty()) {
+      return;
+    }
+    long totalNanos = latencies.values().stream().mapToLong(Latency::getTotalNanos).sum();
+    logger.info("Remote commands took {}ms in total", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+    latencies.entrySet().stream()
+        .sorted(Comparator.comparingLong(
+            (Map.Entry<String, Latency> entry) -> entry.getValue().getTotalNanos()).reversed())
+        .forEach(entry -> logger.info("  {}: {}", entry.getKey(), entry.getValue()));
+  }
+
+  /**
+   * Forgets the latencies recorded, e.g. between suites run in one JVM.
+   */
+  public static void resetLatencies() {
+    latencies.clear();
+  }
+
+  /**
+   * The number of times a command was sent and the time it took.
+   */
+  public static final class Latency {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+      return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+      long calls = getCount();
+      return String.format("%d calls, mean %dms, max %dms, total %dms",
+          calls,
+          calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(getTotalNanos() / calls),
+          TimeUnit.NANOSECONDS.toMillis(getMaxNanos()),
+          TimeUnit.NANOSECONDS.toMillis(getTotalNanos()));
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.frameworkium.core.ui.driver.services;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+/**
+ * Long-lived chromedriver and geckodriver processes shared by local browser
+ * sessions, which saves spawning a driver process for every browser.
+ *
+ * <p>One chromedriver process serves all Chrome sessions. Geckodriver only
+ * supports one session at a time, so geckodriver processes are pooled and
+ * each is reused once its session quits.
+ *
+ * <p>Services are started when first required after {@link #enable()} and
+ * stopped by {@link #shutdown()}.
+ */
+public final class DriverServices {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final BlockingDeque<SharedGeckoDriverService> idleGeckoServices =
+      new LinkedBlockingDeque<>();
+  private static final Set<SharedGeckoDriverService> geckoServices =
+      ConcurrentHashMap.newKeySet();
+  private static SharedChromeDriverService chromeService;
+  private static volatile boolean enabled;
+
+  /** Creates services, replaced by tests which can't start driver processes. */
+  static Supplier<SharedChromeDriverService> chromeServiceFactory =
+      SharedChromeDriverService::create;
+  static Supplier<SharedGeckoDriverService> geckoServiceFactory =
+      SharedGeckoDriverService::create;
+
+  private DriverServices() {
+    // hide default constructor for this util class
+  }
+
+  /**
+   * Shares driver services between sessions until {@link #shutdown()}.
+   */
+  public static void enable() {
+    enabled = true;
+  }
+
+  /**
+   * @return whether driver services are shared between sessions
+   */
+  static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the running shared chromedriver service, or empty if sharing is
+   *     not enabled
+   */
+  public static synchronized Optional<ChromeDriverService> chrome() {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    if (chromeService == null || !chromeService.isRunning()) {
+      SharedChromeDriverService service = chromeServiceFactory.get();
+      start(service);
+      chromeService = service;
+      logger.info("Started shared chromedriver at {}", service.getUrl());
+    }
+    return Optional.of(chromeService);
+  }
+
+  /**
+   * The service is returned for reuse when the session using it quits, and
+   * should be stopped by the caller if creating the session fails.
+   *
+   * @return an idle running geckodriver service for one session, or empty if
+   *     sharing is not enabled
+   */
+  public static Optional<GeckoDriverService> leaseGecko() {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    SharedGeckoDriverService service;
+    while ((service = idleGeckoServices.pollFirst()) != null && !service.isRunning()) {
+      logger.warn("Discarding geckodriver which is no longer running.");
+      geckoServices.remove(service);
+    }
+    if (service == null) {
+      // started outside the lock, so sessions don't wait for each other
+      service = geckoServiceFactory.get();
+      start(service);
+      if (!addGeckoService(service)) {
+        logger.debug("Stopping geckodriver started while shutting down.");
+        service.shutdown();
+        return Optional.empty();
+      }
+      logger.debug("Started shared geckodriver at {}", service.getUrl());
+    }
+    service.lease(idleGeckoServices::addLast);
+    return Optional.of(service);
+  }
+
+  /**
+   * @return false if sharing stopped, so the service would never be stopped
+   */
+  private static synchronized boolean addGeckoService(SharedGeckoDriverService service) {
+    return enabled && geckoServices.add(service);
+  }
+
+  /**
+   * Stops every shared driver service and stops sharing.
+   */
+  public static synchronized void shutdown() {
+    enabled = false;
+    if (chromeService != null) {
+      chromeService.shutdown();
+      chromeService = null;
+    }
+    geckoServices.forEach(SharedGeckoDriverService::shutdown);
+    geckoServices.clear();
+    idleGeckoServices.clear();
+  }
+
+  private static void start(DriverService service) {
+    ProcessReaper.trackShared(() -> {
+      try {
+        service.start();
+        return service;
+      } catch (IOException e) {
+        throw new WebDriverException("Failed to start driver service", e);
+      }
+    });
+  }
+}
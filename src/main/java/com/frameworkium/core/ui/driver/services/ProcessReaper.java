@@ -0,0 +1,455 @@
+package com.frameworkium.core.ui.driver.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+
+/**
+ * Kills browser and driver processes, e.g. chrome and chromedriver, which
+ * this JVM started but did not stop, so they don't slow down later builds on
+ * the same machine.
+ *
+ * <p>The browser process of each {@link com.frameworkium.core.ui.driver.Driver}
+ * is found from its session's capabilities, and it, its child processes and,
+ * unless shared, its driver service are registered against the Driver.
+ * Those still running are killed:
+ * <ul>
+ * <li>every minute, once the Driver can no longer be used because the
+ * threads which held it, e.g. test threads, have finished with it without
+ * quitting it</li>
+ * <li>at the end of the suite and when the JVM shuts down</li>
+ * <li>at the start of the next suite on the machine, if this JVM was killed
+ * before it could clean up, using a file of registered processes in the
+ * temporary directory</li>
+ * </ul>
+ * Other browser processes started while a Driver is created, e.g. by other
+ * Drivers created at the same time, or by a Driver which failed to start,
+ * are only killed at the end.
+ *
+ * <p>Processes are listed with {@code ps}, so reaping is only supported on
+ * Linux and macOS.
+ */
+public final class ProcessReaper {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final long SWEEP_INTERVAL_SECONDS = 60;
+  private static final Path PROCESS_FILE = Paths.get(
+      System.getProperty("java.io.tmpdir"), "frameworkium-browser-processes.txt");
+  private static final String[] BROWSER_PROCESS_NAMES = {
+      "chrome", "chromium", "firefox", "gecko", "msedge", "edgedriver"};
+  /** Capabilities which hold the browser options, including its user data directory. */
+  private static final String[] CHROMIUM_OPTIONS_CAPABILITIES = {"chrome", "msedge"};
+
+  private static final Map<Long, TrackedProcess> tracked = new ConcurrentHashMap<>();
+  /** Reason to process name to the number killed. */
+  private static final Map<String, Map<String, Integer>> reaped = new LinkedHashMap<>();
+  private static volatile boolean started;
+  private static long jvmPid;
+  private static ScheduledExecutorService sweeper;
+  private static Thread shutdownHook;
+
+  private ProcessReaper() {
+    // hide default constructor for this util class
+  }
+
+  /**
+   * Kills processes left by earlier runs whose JVM has exited, then starts
+   * registering processes and killing those no longer used.
+   */
+  public static synchronized void start() {
+    if (started) {
+      return;
+    }
+    ProcessTable processes;
+    try {
+      processes = ProcessTable.snapshot();
+    } catch (IOException e) {
+      logger.warn("Unable to list processes, browser processes will not be reaped.");
+      logger.debug("Failed to list processes.", e);
+      return;
+    }
+    jvmPid = ProcessTable.currentPid();
+    reapPreviousRuns(processes);
+    sweeper = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("process-reaper-%d")
+            .setDaemon(true)
+            .build());
+    sweeper.scheduleWithFixedDelay(
+        ProcessReaper::reapUnused,
+        SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    shutdownHook = new Thread(() -> reap("JVM shutdown", process -> true));
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    started = true;
+  }
+
+  /**
+   * Kills every registered process still running, logs what was reclaimed
+   * and stops registering processes.
+   */
+  public static synchronized void stop() {
+    if (!started) {
+      return;
+    }
+    started = false;
+    sweeper.shutdownNow();
+    reap("suite end", process -> true);
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException e) {
+      // already shutting down
+    }
+    updateProcessFile(lines -> filter(lines, line -> !line.startsWith(jvmPid + " ")));
+    logSummary();
+  }
+
+  /**
+   * Registers the browser processes started by this JVM while creating a
+   * {@link com.frameworkium.core.ui.driver.Driver}, including on failure.
+   *
+   * @param owner        the Driver, its processes are killed once it is
+   *                     unreachable
+   * @param create       creates the browser
+   * @param capabilities the capabilities of the session created, which
+   *                     identify its browser process
+   * @return the result of create
+   */
+  public static <T> T track(
+      Object owner, Supplier<T> create, Function<? super T, Capabilities> capabilities) {
+    return trackOwned(new WeakReference<>(owner), create, capabilities);
+  }
+
+  /**
+   * As {@link #track(Object, Supplier, Function)} for processes shared by many
+   * Drivers, e.g. a shared chromedriver, which are only killed at the end.
+   */
+  public static <T> T trackShared(Supplier<T> create) {
+    return trackOwned(null, create, created -> null);
+  }
+
+  private static <T> T trackOwned(
+      WeakReference<Object> owner,
+      Supplier<T> create,
+      Function<? super T, Capabilities> capabilities) {
+    if (!started) {
+      return create.get();
+    }
+    Set<Long> before;
+    try {
+      before = ProcessTable.snapshot().getPids();
+    } catch (IOException e) {
+      logger.debug("Failed to list processes.", e);
+      return create.get();
+    }
+    T created = null;
+    try {
+      created = create.get();
+      return created;
+    } finally {
+      register(before, owner, created == null ? null : getCapabilities(capabilities, created));
+    }
+  }
+
+  private static <T> Capabilities getCapabilities(
+      Function<? super T, Capabilities> capabilities, T created) {
+    try {
+      return capabilities.apply(created);
+    } catch (RuntimeException e) {
+      logger.debug("Failed to read session capabilities.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Registers the owner's browser processes, and any other new browser
+   * processes, which may belong to browsers created at the same time, as
+   * shared.
+   */
+  private static void register(
+      Set<Long> before, WeakReference<Object> owner, Capabilities capabilities) {
+    ProcessTable after;
+    try {
+      after = ProcessTable.snapshot();
+    } catch (IOException e) {
+      logger.debug("Failed to list processes.", e);
+      return;
+    }
+    Set<Long> owned = owner == null || capabilities == null
+        ? Collections.emptySet()
+        : findOwnedProcesses(capabilities, before, after);
+    List<String> lines = new ArrayList<>();
+    for (long pid : after.getPids()) {
+      boolean isOwned = owned.contains(pid);
+      if (isOwned
+          || !before.contains(pid)
+          && after.isDescendant(pid, jvmPid)
+          && after.hasNamedAncestor(pid, jvmPid, ProcessReaper::isBrowserProcess)) {
+        TrackedProcess process = new TrackedProcess(
+            after.getName(pid), after.getStartTime(pid), isOwned ? owner : null);
+        // only the owner's own processes replace those registered as shared
+        TrackedProcess previous = isOwned
+            ? tracked.put(pid, process)
+            : tracked.putIfAbsent(pid, process);
+        if (previous == null) {
+          lines.add(jvmPid + " " + pid + " " + process.startTime + " " + process.name);
+        }
+      }
+    }
+    if (!lines.isEmpty()) {
+      logger.debug("Registered browser processes {}", lines);
+      updateProcessFile(existing -> {
+        List<String> updated = new ArrayList<>(existing);
+        updated.addAll(lines);
+        return updated;
+      });
+    }
+  }
+
+  /**
+   * @return the session's browser process, its descendants and the driver
+   *     service started for it alone, or empty if the browser is not a
+   *     process of this JVM
+   */
+  static Set<Long> findOwnedProcesses(
+      Capabilities capabilities, Set<Long> before, ProcessTable processes) {
+    Long browser = findBrowserProcess(capabilities, processes);
+    if (browser == null || !processes.isDescendant(browser, jvmPid)) {
+      return Collections.emptySet();
+    }
+    Set<Long> owned = new HashSet<>(processes.getDescendants(browser));
+    owned.add(browser);
+    Long service = processes.getParent(browser);
+    if (service != null && service != jvmPid
+        && Long.valueOf(jvmPid).equals(processes.getParent(service))
+        && !before.contains(service)
+        && !DriverServices.isEnabled()) {
+      owned.add(service);
+    }
+    return owned;
+  }
+
+  /**
+   * Firefox reports its process ID. Chrome and Edge report their user data
+   * directory, which is unique to the session and on the browser's command
+   * line.
+   */
+  @SuppressWarnings("unchecked")
+  private static Long findBrowserProcess(Capabilities capabilities, ProcessTable processes) {
+    Object firefoxPid = capabilities.getCapability("moz:processID");
+    if (firefoxPid instanceof Number) {
+      return ((Number) firefoxPid).longValue();
+    }
+    for (String optionsName : CHROMIUM_OPTIONS_CAPABILITIES) {
+      Object options = capabilities.getCapability(optionsName);
+      Object userDataDir = options instanceof Map
+          ? ((Map<String, Object>) options).get("userDataDir")
+          : null;
+      if (userDataDir != null) {
+        Set<Long> matches;
+        try {
+          matches = ProcessTable.findWithArgument("--user-data-dir=" + userDataDir);
+        } catch (IOException e) {
+          logger.debug("Failed to list processes.", e);
+          return null;
+        }
+        // the browser's helper processes may have the same argument
+        return matches.stream()
+            .filter(pid -> !matches.contains(processes.getParent(pid)))
+            .findFirst()
+            .orElse(null);
+      }
+    }
+    return null;
+  }
+
+  static boolean isBrowserProcess(String name) {
+    String lowerCaseName = name.toLowerCase();
+    for (String browserName : BROWSER_PROCESS_NAMES) {
+      if (lowerCaseName.contains(browserName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Kills the processes of Drivers which can no longer be used.
+   */
+  static void reapUnused() {
+    reap("unused sessions", TrackedProcess::isUnused);
+  }
+
+  /**
+   * Kills the registered processes which match and are still running, and
+   * forgets those which have exited.
+   */
+  static void reap(String reason, Predicate<TrackedProcess> shouldKill) {
+    if (tracked.isEmpty()) {
+      return;
+    }
+    ProcessTable processes;
+    try {
+      processes = ProcessTable.snapshot();
+    } catch (IOException e) {
+      logger.debug("Failed to list processes.", e);
+      return;
+    }
+    tracked.forEach((pid, process) -> {
+      if (!processes.isRunning(pid, process.name, process.startTime)) {
+        tracked.remove(pid, process);
+      } else if (shouldKill.test(process) && tracked.remove(pid, process)) {
+        kill(reason, pid, process.name);
+      }
+    });
+  }
+
+  /**
+   * Kills the processes in the file whose JVM has exited, if they are the
+   * same processes, i.e. have the same name and start time, rather than new
+   * processes given the same ID, e.g. the developer's own browser.
+   */
+  private static void reapPreviousRuns(ProcessTable processes) {
+    updateProcessFile(lines -> {
+      List<String> kept = new ArrayList<>();
+      for (String line : filter(lines, line -> true)) {
+        String[] columns = line.split(" ", 4);
+        long ownerJvm = Long.parseLong(columns[0]);
+        long pid = Long.parseLong(columns[1]);
+        // the owning JVM may still be running another suite
+        if (processes.getName(ownerJvm) != null) {
+          kept.add(line);
+        } else if (processes.isRunning(pid, columns[3], Long.parseLong(columns[2]))) {
+          kill("previous runs", pid, columns[3]);
+        }
+      }
+      return kept;
+    });
+  }
+
+  private static void kill(String reason, long pid, String name) {
+    if (ProcessTable.kill(pid)) {
+      logger.debug("Killed {} process {} ({})", name, pid, reason);
+      synchronized (reaped) {
+        reaped.computeIfAbsent(reason, r -> new TreeMap<>()).merge(name, 1, Integer::sum);
+      }
+    }
+  }
+
+  /**
+   * @return the number of processes killed, by process name, for each reason
+   */
+  public static Map<String, Map<String, Integer>> getSummary() {
+    synchronized (reaped) {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(reaped));
+    }
+  }
+
+  private static void logSummary() {
+    Map<String, Map<String, Integer>> summary = getSummary();
+    if (summary.isEmpty()) {
+      logger.debug("No browser processes needed reaping.");
+      return;
+    }
+    summary.forEach((reason, counts) -> logger.info(
+        "Reaped {} browser processes, {}: {}",
+        counts.values().stream().mapToInt(Integer::intValue).sum(), reason, counts));
+  }
+
+  /**
+   * Rewrites the file of registered processes while holding a lock on it,
+   * as JVMs running suites at the same time share it.
+   *
+   * @param update returns the new lines, given the current lines
+   */
+  private static synchronized void updateProcessFile(UnaryOperator<List<String>> update) {
+    try (FileChannel channel = FileChannel.open(PROCESS_FILE,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      FileLock lock = channel.lock();
+      try {
+        ByteBuffer contents = ByteBuffer.allocate((int) channel.size());
+        while (contents.hasRemaining() && channel.read(contents) >= 0) {
+          // read the whole file
+        }
+        String text = new String(contents.array(), 0, contents.position(), UTF_8);
+        List<String> lines = update.apply(
+            text.isEmpty() ? Collections.emptyList() : Arrays.asList(text.split("\n")));
+        channel.truncate(0);
+        channel.position(0);
+        ByteBuffer updated = ByteBuffer.wrap(
+            (lines.isEmpty() ? "" : String.join("\n", lines) + "\n").getBytes(UTF_8));
+        while (updated.hasRemaining()) {
+          channel.write(updated);
+        }
+      } finally {
+        lock.release();
+      }
+    } catch (IOException e) {
+      logger.debug("Failed to update " + PROCESS_FILE, e);
+    }
+  }
+
+  private static List<String> filter(List<String> lines, Predicate<String> keep) {
+    List<String> kept = new ArrayList<>();
+    for (String line : lines) {
+      if (isProcessLine(line) && keep.test(line)) {
+        kept.add(line);
+      }
+    }
+    return kept;
+  }
+
+  /**
+   * @return whether the line is a JVM process ID, process ID, process start
+   *     time and name
+   */
+  private static boolean isProcessLine(String line) {
+    return line.matches("\\d+ \\d+ \\d+ .+");
+  }
+
+  static final class TrackedProcess {
+
+    private final String name;
+    private final long startTime;
+    /** The Driver using the process, or null if shared. */
+    private final WeakReference<Object> owner;
+
+    private TrackedProcess(String name, long startTime, WeakReference<Object> owner) {
+      this.name = name;
+      this.startTime = startTime;
+      this.owner = owner;
+    }
+
+    private boolean isUnused() {
+      return owner != null && owner.get() == null;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package com.frameworkium.core.ui.driver.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.CharStreams;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A snapshot of the processes running on this machine, as listed by
+ * {@code ps}, which is available on Linux and macOS but not Windows.
+ */
+final class ProcessTable {
+
+  private static final long PS_TIMEOUT_SECONDS = 10;
+  private static final DateTimeFormatter START_TIME_FORMAT =
+      DateTimeFormatter.ofPattern("EEE MMM d HH:mm:ss yyyy", Locale.ENGLISH);
+
+  /** Process ID to its parent's ID. */
+  private final Map<Long, Long> parents;
+  /** Process ID to its start time, in seconds since the epoch. */
+  private final Map<Long, Long> startTimes;
+  /** Process ID to its executable name. */
+  private final Map<Long, String> names;
+
+  private ProcessTable(
+      Map<Long, Long> parents, Map<Long, Long> startTimes, Map<Long, String> names) {
+    this.parents = parents;
+    this.startTimes = startTimes;
+    this.names = names;
+  }
+
+  /**
+   * @return the processes running now
+   * @throws IOException if {@code ps} fails, e.g. on Windows
+   */
+  static ProcessTable snapshot() throws IOException {
+    return parse(ps("pid=", "ppid=", "lstart=", "comm="));
+  }
+
+  /**
+   * @param argument part of a command line, e.g. {@code --user-data-dir=/tmp/x}
+   * @return the IDs of processes whose command line contains the argument
+   * @throws IOException if {@code ps} fails, e.g. on Windows
+   */
+  static Set<Long> findWithArgument(String argument) throws IOException {
+    Set<Long> pids = new HashSet<>();
+    for (String line : ps("pid=", "args=").split("\n")) {
+      String[] columns = line.trim().split("\\s+", 2);
+      if (columns.length == 2 && columns[0].matches("\\d+") && columns[1].contains(argument)) {
+        pids.add(Long.parseLong(columns[0]));
+      }
+    }
+    return pids;
+  }
+
+  private static String ps(String... columns) throws IOException {
+    List<String> command = new ArrayList<>(Arrays.asList("ps", "-A"));
+    for (String column : columns) {
+      command.add("-o");
+      command.add(column);
+    }
+    ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+    // start times in English
+    builder.environment().put("LC_ALL", "C");
+    Process ps = builder.start();
+    String output;
+    try (Reader reader = new InputStreamReader(ps.getInputStream(), UTF_8)) {
+      output = CharStreams.toString(reader);
+    }
+    try {
+      if (!ps.waitFor(PS_TIMEOUT_SECONDS, TimeUnit.SECONDS) || ps.exitValue() != 0) {
+        ps.destroyForcibly();
+        throw new IOException("ps failed: " + output);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted listing processes", e);
+    }
+    return output;
+  }
+
+  /**
+   * @param psOutput lines of process ID, parent process ID, start time, e.g.
+   *                 {@code Sat Oct 17 10:15:02 2026}, and command
+   */
+  static ProcessTable parse(String psOutput) {
+    Map<Long, Long> parents = new HashMap<>();
+    Map<Long, Long> startTimes = new HashMap<>();
+    Map<Long, String> names = new HashMap<>();
+    for (String line : psOutput.split("\n")) {
+      String[] columns = line.trim().split("\\s+", 8);
+      if (columns.length < 8 || !columns[0].matches("\\d+") || !columns[1].matches("\\d+")) {
+        continue;
+      }
+      long startTime;
+      try {
+        startTime = LocalDateTime.parse(String.join(" ", Arrays.copyOfRange(columns, 2, 7)),
+            START_TIME_FORMAT).atZone(ZoneId.systemDefault()).toEpochSecond();
+      } catch (DateTimeParseException e) {
+        continue;
+      }
+      long pid = Long.parseLong(columns[0]);
+      parents.put(pid, Long.parseLong(columns[1]));
+      startTimes.put(pid, startTime);
+      // macOS lists the executable's path, which may contain spaces
+      names.put(pid, columns[7].substring(columns[7].lastIndexOf('/') + 1).trim());
+    }
+    return new ProcessTable(parents, startTimes, names);
+  }
+
+  /**
+   * @return the ID of this JVM's process
+   */
+  static long currentPid() {
+    // the name is pid@hostname on HotSpot and OpenJ9
+    String name = ManagementFactory.getRuntimeMXBean().getName();
+    return Long.parseLong(name.substring(0, name.indexOf('@')));
+  }
+
+  /**
+   * @return the IDs of every process
+   */
+  Set<Long> getPids() {
+    return Collections.unmodifiableSet(names.keySet());
+  }
+
+  /**
+   * @return the executable name of the process, or null if it is not running
+   */
+  String getName(long pid) {
+    return names.get(pid);
+  }
+
+  /**
+   * @return the start time of the process, in seconds since the epoch, or
+   *     null if it is not running
+   */
+  Long getStartTime(long pid) {
+    return startTimes.get(pid);
+  }
+
+  /**
+   * @return the ID of the process's parent, or null if it is not running
+   */
+  Long getParent(long pid) {
+    return parents.get(pid);
+  }
+
+  /**
+   * @return whether the process is running with the given executable name
+   *     and start time, rather than having exited and its ID been reused
+   */
+  boolean isRunning(long pid, String name, long startTime) {
+    return name.equals(names.get(pid)) && Objects.equals(startTimes.get(pid), startTime);
+  }
+
+  /**
+   * @return the IDs of the process's children, grandchildren etc.
+   */
+  Set<Long> getDescendants(long ancestor) {
+    Set<Long> descendants = new HashSet<>();
+    for (long pid : names.keySet()) {
+      if (isDescendant(pid, ancestor)) {
+        descendants.add(pid);
+      }
+    }
+    return descendants;
+  }
+
+  /**
+   * @return whether the process is a child, grandchild etc. of the ancestor
+   */
+  boolean isDescendant(long pid, long ancestor) {
+    Set<Long> seen = new HashSet<>();
+    Long parent = parents.get(pid);
+    while (parent != null && seen.add(parent)) {
+      if (parent == ancestor) {
+        return true;
+      }
+      parent = parents.get(parent);
+    }
+    return false;
+  }
+
+  /**
+   * @return whether the process or one of its ancestors up to, but not
+   *     including, the given ancestor has a name matching the predicate
+   */
+  boolean hasNamedAncestor(long pid, long ancestor, Predicate<String> name) {
+    Set<Long> seen = new HashSet<>();
+    Long current = pid;
+    while (current != null && current != ancestor && seen.add(current)) {
+      String currentName = names.get(current);
+      if (currentName != null && name.test(currentName)) {
+        return true;
+      }
+      current = parents.get(current);
+    }
+    return false;
+  }
+
+  /**
+   * Forcibly kills the process.
+   *
+   * @return whether {@code kill} succeeded
+   */
+  static boolean kill(long pid) {
+    try {
+      Process kill = new ProcessBuilder("kill", "-9", Long.toString(pid))
+          .redirectErrorStream(true)
+          .start();
+      return kill.waitFor(PS_TIMEOUT_SECONDS, TimeUnit.SECONDS) && kill.exitValue() == 0;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.frameworkium.core.ui.driver.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+
+/**
+ * A chromedriver process which serves many concurrent sessions.
+ *
+ * <p>Selenium stops a driver's service when the driver quits, so
+ * {@link #stop()} does nothing here and {@link #shutdown()} stops the process.
+ */
+class SharedChromeDriverService extends ChromeDriverService {
+
+  SharedChromeDriverService(
+      File executable,
+      int port,
+      Duration timeout,
+      List<String> args,
+      Map<String, String> environment) throws IOException {
+    super(executable, port, timeout, args, environment);
+  }
+
+  /**
+   * Does nothing, other sessions may still be using this service.
+   */
+  @Override
+  public void stop() {
+  }
+
+  void shutdown() {
+    super.stop();
+  }
+
+  /**
+   * @return a new, not yet started, service using any free port
+   */
+  static SharedChromeDriverService create() {
+    return (SharedChromeDriverService) new Builder().usingAnyFreePort().build();
+  }
+
+  private static class Builder extends ChromeDriverService.Builder {
+
+    @Override
+    protected SharedChromeDriverService createDriverService(
+        File exe, int port, Duration timeout, List<String> args, Map<String, String> environment) {
+      try {
+        return new SharedChromeDriverService(exe, port, timeout, args, environment);
+      } catch (IOException e) {
+        throw new WebDriverException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.frameworkium.core.ui.driver.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.firefox.GeckoDriverService;
+
+/**
+ * A geckodriver process which serves one session at a time but is reused by
+ * later sessions.
+ *
+ * <p>Selenium stops a driver's service when the driver quits, so
+ * {@link #stop()} instead releases this service for the next session and
+ * {@link #shutdown()} stops the process.
+ */
+class SharedGeckoDriverService extends GeckoDriverService {
+
+  private final AtomicBoolean leased = new AtomicBoolean();
+  private Consumer<SharedGeckoDriverService> onRelease = service -> { };
+
+  SharedGeckoDriverService(
+      File executable,
+      int port,
+      Duration timeout,
+      List<String> args,
+      Map<String, String> environment) throws IOException {
+    super(executable, port, timeout, args, environment);
+  }
+
+  /**
+   * @param onRelease called when the session using this service ends
+   */
+  void lease(Consumer<SharedGeckoDriverService> onRelease) {
+    this.onRelease = onRelease;
+    leased.set(true);
+  }
+
+  /**
+   * Releases this service for the next session, the process keeps running.
+   */
+  @Override
+  public void stop() {
+    if (leased.compareAndSet(true, false)) {
+      onRelease.accept(this);
+    }
+  }
+
+  void shutdown() {
+    super.stop();
+  }
+
+  /**
+   * @return a new, not yet started, service using any free port
+   */
+  static SharedGeckoDriverService create() {
+    return (SharedGeckoDriverService) new Builder().usingAnyFreePort().build();
+  }
+
+  private static class Builder extends GeckoDriverService.Builder {
+
+    @Override
+    protected SharedGeckoDriverService createDriverService(
+        File exe, int port, Duration timeout, List<String> args, Map<String, String> environment) {
+      try {
+        return new SharedGeckoDriverService(exe, port, timeout, args, environment);
+      } catch (IOException e) {
+        throw new WebDriverException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.frameworkium.core.ui.js;
+
+import com.frameworkium.core.common.properties.Property;
+import com.frameworkium.core.ui.driver.Driver;
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+/**
+ * Disables CSS animations, transitions and smooth scrolling, enabled by the
+ * {@link Property#FREEZE_ANIMATIONS} property, so waits for elements finish
+ * as soon as the DOM is ready rather than when an animation ends.
+ *
+ * <p>Durations and delays are set to zero rather than removing animations,
+ * so {@code animationend} events still fire. Transitions of zero duration
+ * never run, so {@code transitionend} does not fire, and tests waiting on it
+ * should not freeze animations.
+ */
+public final class AnimationFreezer {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  static final String STYLE_ID = "frameworkium-freeze-animations";
+  static final String FREEZE_SCRIPT = "(function() {"
+      + "  function freeze() {"
+      + "    if (document.getElementById('" + STYLE_ID + "')) { return; }"
+      + "    var style = document.createElement('style');"
+      + "    style.id = '" + STYLE_ID + "';"
+      + "    style.textContent = '*, *::before, *::after {"
+      + "      animation-duration: 0s !important;"
+      + "      animation-delay: 0s !important;"
+      + "      transition-duration: 0s !important;"
+      + "      transition-delay: 0s !important;"
+      + "      scroll-behavior: auto !important;"
+      + "    }';"
+      + "    (document.head || document.documentElement).appendChild(style);"
+      + "  }"
+      + "  if (document.documentElement) {"
+      + "    freeze();"
+      + "  } else {"
+      + "    document.addEventListener('DOMContentLoaded', freeze);"
+      + "  }"
+      + "})();";
+
+  private AnimationFreezer() {
+    // hide default constructor for this util class
+  }
+
+  public static boolean isEnabled() {
+    return Property.FREEZE_ANIMATIONS.getBoolean();
+  }
+
+  /**
+   * Adds the stylesheet to every document the browser's current page loads
+   * from now on, which survives navigation without running any script
+   * per page.
+   *
+   * @param driver the driver, possibly wrapped, e.g. by an
+   *               {@link org.openqa.selenium.support.events.EventFiringWebDriver}
+   * @return false if the browser is not a local Chromium browser, in which
+   *     case {@link #freeze(JavascriptExecutor)} must be called for each page
+   */
+  public static boolean freezeOnNewDocuments(WebDriver driver) {
+    WebDriver unwrapped = Driver.unwrap(driver);
+    if (!(unwrapped instanceof ChromiumDriver)) {
+      return false;
+    }
+    try {
+      ((ChromiumDriver) unwrapped).executeCdpCommand(
+          "Page.addScriptToEvaluateOnNewDocument",
+          ImmutableMap.of("source", FREEZE_SCRIPT));
+      return true;
+    } catch (WebDriverException e) {
+      logger.warn("Unable to freeze animations on new documents, "
+          + "freezing them on each page load instead.");
+      logger.debug("Failed to add script to new documents.", e);
+      return false;
+    }
+  }
+
+  /**
+   * Adds the stylesheet to the current document, if it is not already there.
+   *
+   * @param javascriptExecutor the driver for the current page
+   */
+  public static void freeze(JavascriptExecutor javascriptExecutor) {
+    javascriptExecutor.executeScript(FREEZE_SCRIPT);
+  }
+}
@@ -0,0 +1,39 @@
+package com.frameworkium.core.ui.listeners;
+
+import com.frameworkium.core.ui.driver.lifecycle.AdaptiveConcurrency;
+import com.frameworkium.core.ui.driver.lifecycle.AdaptiveConcurrency.Outcome;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+
+/**
+ * Records the outcome of each test for {@link AdaptiveConcurrency}, before
+ * the test's {@code @AfterMethod}s release it.
+ */
+public class AdaptiveConcurrencyListener extends TestListenerAdapter {
+
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    record(Outcome.PASSED);
+  }
+
+  @Override
+  public void onTestFailure(ITestResult result) {
+    record(Outcome.FAILED);
+  }
+
+  @Override
+  public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+    record(Outcome.FAILED);
+  }
+
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    // a failed attempt which is retried is reported as skipped
+    record(result.wasRetried() ? Outcome.FAILED : Outcome.SKIPPED);
+  }
+
+  private static void record(Outcome outcome) {
+    AdaptiveConcurrency.getShared()
+        .ifPresent(concurrency -> concurrency.recordOutcome(outcome));
+  }
+}
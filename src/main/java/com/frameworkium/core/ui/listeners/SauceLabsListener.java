@@ -2,6 +2,7 @@ package com.frameworkium.core.ui.listeners;
 
 import static com.frameworkium.core.common.properties.Property.APP_PATH;
 
+import com.frameworkium.core.ui.UITestLifecycle;
 import com.frameworkium.core.ui.driver.Driver;
 import com.frameworkium.core.ui.driver.remotes.Sauce;
 import com.saucelabs.common.SauceOnDemandSessionIdProvider;
@@ -36,28 +37,42 @@ public class SauceLabsListener extends SauceOnDemandTestListener {
 
   @Override
   public void onTestStart(ITestResult result) {
-    if (IS_RUNNING_ON_SAUCE_LABS) {
-      // TODO: thread safe?
-      Sauce.updateJobName(
-          (SauceOnDemandSessionIdProvider) result.getInstance(),
-          result.getTestClass().getRealClass().getSimpleName());
-
+    if (isBrowserStarted()) {
+      updateJobName(result);
       super.onTestStart(result);
     }
   }
 
   @Override
   public void onTestFailure(ITestResult tr) {
-    if (IS_RUNNING_ON_SAUCE_LABS) {
+    if (isBrowserStarted()) {
+      updateJobName(tr);
       super.onTestFailure(tr);
     }
   }
 
   @Override
   public void onTestSuccess(ITestResult tr) {
-    if (IS_RUNNING_ON_SAUCE_LABS) {
+    if (isBrowserStarted()) {
+      updateJobName(tr);
       super.onTestSuccess(tr);
     }
   }
 
+  /**
+   * Browsers start when the test first uses them, and reading the session id
+   * of one not yet started would start it. The job is named again once the
+   * test has run, as its browser has usually only started during the test.
+   */
+  private static boolean isBrowserStarted() {
+    return IS_RUNNING_ON_SAUCE_LABS && UITestLifecycle.get().isInitialised();
+  }
+
+  private static void updateJobName(ITestResult result) {
+    // TODO: thread safe?
+    Sauce.updateJobName(
+        (SauceOnDemandSessionIdProvider) result.getInstance(),
+        result.getTestClass().getRealClass().getSimpleName());
+  }
+
 }
@@ -91,7 +91,9 @@ public class ScreenshotListener extends TestListenerAdapter {
   private boolean isScreenshotSupported(ITestResult testResult) {
     boolean isElectron = BROWSER.isSpecified()
         && ELECTRON.equals(Browser.valueOf(BROWSER.getValue().toUpperCase()));
-    boolean isUITest = testResult.getInstance() instanceof BaseUITest;
+    // tests which never used a browser have nothing to screenshot
+    boolean isUITest = testResult.getInstance() instanceof BaseUITest
+        && UITestLifecycle.get().isInitialised();
     return isUITest && !isElectron;
   }
 }
@@ -10,9 +10,23 @@ public class VideoListener extends TestListenerAdapter {
 
   @Override
   public void onTestStart(ITestResult iTestResult) {
-    if (VideoCapture.isRequired()) {
+    saveSessionIdIfBrowserStarted(iTestResult);
+  }
+
+  /**
+   * Browsers start when the test first uses them, so the session may only
+   * exist once the test has run.
+   */
+  @Override
+  public void onTestFailure(ITestResult result) {
+    saveSessionIdIfBrowserStarted(result);
+  }
+
+  private static void saveSessionIdIfBrowserStarted(ITestResult result) {
+    // reading the session id of a browser not yet started would start it
+    if (VideoCapture.isRequired() && UITestLifecycle.get().isInitialised()) {
       VideoCapture.saveTestSessionID(
-          iTestResult.getName(),
+          result.getName(),
           UITestLifecycle.get().getRemoteSessionId());
     }
   }
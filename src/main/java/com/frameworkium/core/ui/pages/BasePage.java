@@ -7,6 +7,8 @@ import com.frameworkium.core.ui.annotations.Visible;
 import com.frameworkium.core.ui.capture.ScreenshotCapture;
 import com.frameworkium.core.ui.capture.model.Command;
 import com.frameworkium.core.ui.driver.Driver;
+import com.frameworkium.core.ui.driver.RequestBlocker;
+import com.frameworkium.core.ui.js.AnimationFreezer;
 import com.frameworkium.core.ui.js.JavascriptWait;
 import java.time.Duration;
 import org.apache.logging.log4j.LogManager;
@@ -24,6 +26,7 @@ public abstract class BasePage<T extends BasePage<T>> {
   protected Wait<WebDriver> wait;
   private Visibility visibility;
   private JavascriptWait javascriptWait;
+  private final JavascriptExecutor javascriptExecutor;
 
   public BasePage() {
     this(UITestLifecycle.get().getWebDriver(), UITestLifecycle.get().getWait());
@@ -35,7 +38,7 @@ public abstract class BasePage<T extends BasePage<T>> {
   public BasePage(WebDriver driver, Wait<WebDriver> wait) {
     this.driver = driver;
     this.wait = wait;
-    JavascriptExecutor javascriptExecutor = (JavascriptExecutor) driver;
+    this.javascriptExecutor = (JavascriptExecutor) driver;
     this.visibility = new Visibility(wait, javascriptExecutor);
     this.javascriptWait = new JavascriptWait(javascriptExecutor, wait);
   }
@@ -70,6 +73,8 @@ public abstract class BasePage<T extends BasePage<T>> {
    * @see BasePage#get()
    */
   public T get(String url) {
+    // those blocked before navigating belong to the previous page
+    takeBlockedCount();
     driver.get(url);
     return get();
   }
@@ -104,6 +109,7 @@ public abstract class BasePage<T extends BasePage<T>> {
    * Initialises the PageObject.
    * <ul>
    * <li>Initialises fields with lazy proxies</li>
+   * <li>Freezes CSS animations and transitions, if enabled</li>
    * <li>Waits for Javascript events including document ready & JS frameworks (if applicable)</li>
    * <li>Processes Frameworkium visibility annotations e.g. {@link Visible}</li>
    * <li>Log page load to Allure and Capture</li>
@@ -117,6 +123,11 @@ public abstract class BasePage<T extends BasePage<T>> {
 
     initPageObjectFields();
 
+    // New windows and non-Chromium browsers don't freeze on navigation
+    if (!Driver.isNative() && AnimationFreezer.isEnabled()) {
+      AnimationFreezer.freeze(javascriptExecutor);
+    }
+
     // Wait for Elements & JS
     visibility.waitForAnnotatedElementVisibility(this);
     if (!Driver.isNative()) {
@@ -125,7 +136,8 @@ public abstract class BasePage<T extends BasePage<T>> {
 
     // Log
     takePageLoadedScreenshotAndSendToCapture();
-    logPageLoadToAllure();
+    // including those blocked while navigating to this page
+    logPageLoadToAllure(takeBlockedCount());
 
     return (T) this;
   }
@@ -140,14 +152,22 @@ public abstract class BasePage<T extends BasePage<T>> {
 
   private void updatePageTimeout(Duration timeout) {
     wait = UITestLifecycle.get().newWaitWithTimeout(timeout);
-    JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-    visibility = new Visibility(wait, jsExecutor);
-    javascriptWait = new JavascriptWait(jsExecutor, wait);
+    visibility = new Visibility(wait, javascriptExecutor);
+    javascriptWait = new JavascriptWait(javascriptExecutor, wait);
   }
 
-  private void logPageLoadToAllure() {
+  private int takeBlockedCount() {
+    return Driver.isNative() ? 0 : RequestBlocker.takeBlockedCount(driver);
+  }
+
+  private void logPageLoadToAllure(int blockedRequests) {
+    String message = "Page '" + getClass().getName() + "' successfully loaded";
+    if (blockedRequests > 0) {
+      message += ", blocked " + blockedRequests + " requests";
+    }
+    logger.debug(message);
     try {
-      AllureLogger.logToAllure("Page '" + getClass().getName() + "' successfully loaded");
+      AllureLogger.logToAllure(message);
     } catch (Exception e) {
       logger.warn("Error logging page load, but loaded successfully", e);
     }
@@ -0,0 +1,467 @@
+package com.frameworkium.core.ui.proxy;
+
+import com.frameworkium.core.common.properties.Property;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Proxy;
+
+/**
+ * An in-process forward proxy which caches static assets, e.g. scripts,
+ * stylesheets and images, on disk so that every browser in the suite shares
+ * one copy of each and repeat downloads become local hits.
+ *
+ * <p>Started by {@link #startShared()} when {@link Property#CACHING_PROXY} is
+ * true, with a cache of up to {@link Property#PROXY_CACHE_SIZE} megabytes,
+ * 512 by default.
+ *
+ * <p>Only plain HTTP responses are cached. HTTPS requests are tunnelled to
+ * the origin server unchanged, because caching them would need the proxy to
+ * intercept TLS with its own certificate authority.
+ *
+ * <p>If {@link Property#PROXY} is also set to {@code http://{hostname}:{port}}
+ * then requests the cache can't answer are sent via that proxy.
+ */
+public final class CachingProxy implements Closeable {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final int DEFAULT_CACHE_SIZE_MB = 512;
+  private static final long MAX_ENTRY_BYTES = 16L * 1024 * 1024;
+  private static final int SOCKET_TIMEOUT_MILLIS = 60_000;
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private static CachingProxy sharedProxy;
+
+  private final ProxyCache cache;
+  /** The proxy to send requests via, as {@code host:port}, or null. */
+  private final String upstreamProxy;
+  private final ServerSocket serverSocket;
+  private final ExecutorService connections;
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger revalidated = new AtomicInteger();
+
+  CachingProxy(ProxyCache cache) throws IOException {
+    this(cache, null);
+  }
+
+  /**
+   * @param upstreamProxy the proxy to send requests via, as
+   *                      {@code host:port}, or null to connect directly
+   */
+  CachingProxy(ProxyCache cache, String upstreamProxy) throws IOException {
+    this.cache = cache;
+    this.upstreamProxy = upstreamProxy;
+    this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+    this.connections = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder()
+            .setNameFormat("caching-proxy-%d")
+            .setDaemon(true)
+            .build());
+    connections.execute(this::acceptConnections);
+  }
+
+  /**
+   * Starts the proxy shared by all browsers until {@link #stopShared()}.
+   *
+   * @throws IllegalStateException    if the proxy fails to start
+   * @throws IllegalArgumentException if {@link Property#PROXY} is set to a
+   *                                  proxy which can't be chained, e.g.
+   *                                  {@code system}
+   */
+  public static synchronized void startShared() {
+    if (sharedProxy != null) {
+      return;
+    }
+    String upstreamProxy = getUpstreamProxy();
+    long maxBytes = Property.PROXY_CACHE_SIZE.getIntWithDefault(DEFAULT_CACHE_SIZE_MB)
+        * 1024L * 1024L;
+    try {
+      Path dir = Files.createTempDirectory("frameworkium-proxy-cache");
+      sharedProxy = new CachingProxy(
+          new ProxyCache(dir, maxBytes, MAX_ENTRY_BYTES), upstreamProxy);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to start caching proxy", e);
+    }
+    logger.info("Started caching proxy on port {}{}", sharedProxy.getPort(),
+        upstreamProxy == null ? "" : ", via " + upstreamProxy);
+  }
+
+  private static String getUpstreamProxy() {
+    if (!Property.PROXY.isSpecified()
+        || "direct".equalsIgnoreCase(Property.PROXY.getValue())) {
+      return null;
+    }
+    String proxy = Property.PROXY.getValue();
+    if ("system".equalsIgnoreCase(proxy) || "autodetect".equalsIgnoreCase(proxy)) {
+      throw new IllegalArgumentException("The caching proxy can't use the " + proxy
+          + " proxy, set proxy to http://{hostname}:{port} or direct instead.");
+    }
+    return SeleniumProxyFactory.getProxyURL(proxy);
+  }
+
+  /**
+   * @return the shared proxy, or empty if it has not been started
+   */
+  public static synchronized Optional<CachingProxy> getShared() {
+    return Optional.ofNullable(sharedProxy);
+  }
+
+  /**
+   * Stops the shared proxy and deletes its cache.
+   */
+  public static synchronized void stopShared() {
+    if (sharedProxy != null) {
+      sharedProxy.close();
+      sharedProxy = null;
+    }
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * @return a Selenium {@link Proxy} which sends browser requests via this
+   *     proxy
+   */
+  public Proxy toSeleniumProxy() {
+    return SeleniumProxyFactory.createProxy("http://127.0.0.1:" + getPort());
+  }
+
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      logger.debug("Failed to close caching proxy.", e);
+    }
+    connections.shutdownNow();
+    logger.info("Caching proxy served {} of {} requests from cache, {} after revalidating ({})",
+        hits.get(), requests.get(), revalidated.get(), cache);
+    cache.delete();
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket client = serverSocket.accept();
+        connections.execute(() -> handle(client));
+      } catch (SocketException e) {
+        // closed
+      } catch (IOException e) {
+        logger.debug("Failed to accept proxy connection.", e);
+      }
+    }
+  }
+
+  /**
+   * Handles one request per connection, closing the connection afterwards so
+   * responses can always be delimited by the end of the stream.
+   */
+  private void handle(Socket client) {
+    try (Socket clientSocket = client) {
+      clientSocket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+      InputStream in = new BufferedInputStream(clientSocket.getInputStream());
+      OutputStream out = clientSocket.getOutputStream();
+      Optional<HttpHead> request = HttpHead.read(in);
+      if (!request.isPresent()) {
+        return;
+      }
+      if ("CONNECT".equalsIgnoreCase(request.get().getStartLinePart(0))) {
+        tunnel(request.get(), clientSocket, in, out);
+      } else {
+        forward(request.get(), in, out);
+      }
+    } catch (IOException e) {
+      logger.debug("Proxy connection failed.", e);
+    }
+  }
+
+  private void tunnel(HttpHead connect, Socket client, InputStream in, OutputStream out)
+      throws IOException {
+    String[] hostAndPort = connect.getStartLinePart(1).split(":");
+    int port = hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : 443;
+    try (Socket upstream = connect(hostAndPort[0], port, out)) {
+      if (upstreamProxy == null) {
+        out.write("HTTP/1.1 200 Connection Established\r\n\r\n"
+            .getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+      } else {
+        // the upstream proxy answers the CONNECT, through the tunnel
+        upstream.getOutputStream().write(connect.toBytes());
+      }
+      InputStream upstreamIn = upstream.getInputStream();
+      connections.execute(() -> {
+        try {
+          copy(upstreamIn, out);
+        } catch (IOException e) {
+          // either side closed the tunnel
+        } finally {
+          closeQuietly(upstream);
+          closeQuietly(client);
+        }
+      });
+      copy(in, upstream.getOutputStream());
+    }
+  }
+
+  private void forward(HttpHead request, InputStream in, OutputStream out) throws IOException {
+    requests.incrementAndGet();
+    String method = request.getStartLinePart(0);
+    URI uri;
+    try {
+      uri = new URI(request.getStartLinePart(1));
+      if (uri.getHost() == null) {
+        throw new URISyntaxException(uri.toString(), "proxy requests need an absolute URI");
+      }
+    } catch (URISyntaxException e) {
+      out.write("HTTP/1.1 400 Bad Request\r\nConnection: close\r\n\r\n"
+          .getBytes(StandardCharsets.ISO_8859_1));
+      return;
+    }
+    Optional<ProxyCache.Entry> cached = ProxyCache.isCacheable(method, request)
+        ? cache.get(uri.toString(), request)
+        : Optional.empty();
+    if (cached.isPresent() && cached.get().isFresh(System.currentTimeMillis())
+        && respondFromCache(cached.get(), out)) {
+      hits.incrementAndGet();
+      return;
+    }
+    if (!fetch(request, uri, cached, in, out)) {
+      // evicted while revalidating, so download it again
+      logger.debug("Cached response for {} was evicted, downloading it again", uri);
+      HttpHead unconditional = request.copy();
+      unconditional.remove("If-None-Match");
+      unconditional.remove("If-Modified-Since");
+      fetch(unconditional, uri, Optional.empty(), in, out);
+    }
+  }
+
+  /**
+   * Sends the request to the origin server, revalidating the cached response
+   * if there is one, and responds to the client.
+   *
+   * @return false, without responding, if the origin server said the cached
+   *     response was not modified but its body has since been evicted
+   */
+  private boolean fetch(
+      HttpHead request,
+      URI uri,
+      Optional<ProxyCache.Entry> cached,
+      InputStream in,
+      OutputStream out) throws IOException {
+    String method = request.getStartLinePart(0);
+    HttpHead upstreamRequest = request.copy();
+    if (upstreamProxy == null) {
+      String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+      String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+      upstreamRequest.setStartLine(
+          method + " " + path + query + " " + request.getStartLinePart(2));
+    }
+    upstreamRequest.remove("Proxy-Connection");
+    upstreamRequest.remove("Keep-Alive");
+    upstreamRequest.set("Connection", "close");
+    boolean revalidating = cached.isPresent() && cached.get().hasValidators();
+    if (revalidating) {
+      HttpHead cachedHead = cached.get().getHead();
+      upstreamRequest.remove("If-None-Match");
+      upstreamRequest.remove("If-Modified-Since");
+      cachedHead.get("ETag").ifPresent(etag -> upstreamRequest.set("If-None-Match", etag));
+      cachedHead.get("Last-Modified")
+          .ifPresent(modified -> upstreamRequest.set("If-Modified-Since", modified));
+    }
+
+    int port = uri.getPort() == -1 ? 80 : uri.getPort();
+    try (Socket upstream = connect(uri.getHost(), port, out)) {
+      upstream.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+      OutputStream upstreamOut = upstream.getOutputStream();
+      upstreamOut.write(upstreamRequest.toBytes());
+      copyRequestBody(request, in, upstreamOut);
+      upstreamOut.flush();
+
+      InputStream upstreamIn = new BufferedInputStream(upstream.getInputStream());
+      HttpHead response = HttpHead.read(upstreamIn)
+          .orElseThrow(() -> new IOException("No response from " + uri.getHost()));
+      if (revalidating && "304".equals(response.getStartLinePart(1))) {
+        cache.refresh(cached.get(), response);
+        if (!respondFromCache(cached.get(), out)) {
+          return false;
+        }
+        revalidated.incrementAndGet();
+        return true;
+      }
+      HttpHead clientResponse = withConnectionClose(response);
+      if (ProxyCache.isCacheable(method, request) && ProxyCache.isCacheable(response)) {
+        cacheAndRespond(
+            uri.toString(), request, response, clientResponse, upstreamIn, out);
+      } else {
+        out.write(clientResponse.toBytes());
+        copy(upstreamIn, out);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Buffers the body up to the maximum size of a cached response, after
+   * which the response is streamed without being cached.
+   */
+  private void cacheAndRespond(
+      String key,
+      HttpHead request,
+      HttpHead response,
+      HttpHead clientResponse,
+      InputStream upstreamIn,
+      OutputStream out) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int read;
+    while ((read = upstreamIn.read(buffer)) != -1) {
+      body.write(buffer, 0, read);
+      if (body.size() > cache.getMaxEntryBytes()) {
+        out.write(clientResponse.toBytes());
+        body.writeTo(out);
+        copy(upstreamIn, out);
+        return;
+      }
+    }
+    cache.put(key, request, response, body.toByteArray());
+    out.write(clientResponse.toBytes());
+    body.writeTo(out);
+  }
+
+  private boolean respondFromCache(ProxyCache.Entry entry, OutputStream out) throws IOException {
+    Optional<byte[]> body = cache.readBody(entry);
+    if (!body.isPresent()) {
+      return false;
+    }
+    out.write(withConnectionClose(entry.getHead()).toBytes());
+    out.write(body.get());
+    return true;
+  }
+
+  /**
+   * Connects to the origin server, or the upstream proxy if there is one,
+   * telling the client if that fails.
+   */
+  private Socket connect(String host, int port, OutputStream out) throws IOException {
+    try {
+      if (upstreamProxy != null) {
+        String[] proxyHostAndPort = upstreamProxy.split(":");
+        return new Socket(proxyHostAndPort[0], Integer.parseInt(proxyHostAndPort[1]));
+      }
+      return new Socket(host, port);
+    } catch (IOException e) {
+      out.write("HTTP/1.1 502 Bad Gateway\r\nConnection: close\r\n\r\n"
+          .getBytes(StandardCharsets.ISO_8859_1));
+      throw e;
+    }
+  }
+
+  private static HttpHead withConnectionClose(HttpHead response) {
+    HttpHead head = response.copy();
+    head.remove("Keep-Alive");
+    head.remove("Proxy-Connection");
+    head.set("Connection", "close");
+    return head;
+  }
+
+  private static void copyRequestBody(HttpHead request, InputStream in, OutputStream out)
+      throws IOException {
+    if (request.get("Transfer-Encoding").map(te -> te.contains("chunked")).orElse(false)) {
+      copyChunked(in, out);
+      return;
+    }
+    long remaining = Long.parseLong(request.get("Content-Length").orElse("0").trim());
+    byte[] buffer = new byte[BUFFER_SIZE];
+    while (remaining > 0) {
+      int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (read == -1) {
+        throw new IOException("Request body ended early");
+      }
+      out.write(buffer, 0, read);
+      remaining -= read;
+    }
+  }
+
+  /**
+   * Copies a chunked body as is, up to and including its trailers.
+   */
+  private static void copyChunked(InputStream in, OutputStream out) throws IOException {
+    while (true) {
+      String sizeLine = readLine(in);
+      out.write((sizeLine + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+      int size = Integer.parseInt(sizeLine.split(";")[0].trim(), 16);
+      if (size == 0) {
+        String trailer;
+        do {
+          trailer = readLine(in);
+          out.write((trailer + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        } while (!trailer.isEmpty());
+        return;
+      }
+      byte[] chunk = new byte[size + 2];
+      int offset = 0;
+      while (offset < chunk.length) {
+        int read = in.read(chunk, offset, chunk.length - offset);
+        if (read == -1) {
+          throw new IOException("Chunked request body ended early");
+        }
+        offset += read;
+      }
+      out.write(chunk);
+    }
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    int b;
+    while ((b = in.read()) != '\n') {
+      if (b == -1) {
+        throw new IOException("Chunked request body ended early");
+      }
+      if (b != '\r') {
+        line.append((char) b);
+      }
+    }
+    return line.toString();
+  }
+
+  private static void copy(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+      out.flush();
+    }
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // already closed
+    }
+  }
+}
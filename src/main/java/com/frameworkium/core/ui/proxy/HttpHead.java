@@ -0,0 +1,124 @@
+package com.frameworkium.core.ui.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The start line and headers of an HTTP/1.x request or response.
+ */
+final class HttpHead {
+
+  private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+  private String startLine;
+  private final List<Map.Entry<String, String>> headers = new ArrayList<>();
+
+  HttpHead(String startLine) {
+    this.startLine = startLine;
+  }
+
+  /**
+   * @return the head, or empty if the stream ended before a start line
+   * @throws IOException if the stream ends part way through the head
+   */
+  static Optional<HttpHead> read(InputStream in) throws IOException {
+    String startLine = readLine(in);
+    if (startLine == null || startLine.isEmpty()) {
+      return Optional.empty();
+    }
+    HttpHead head = new HttpHead(startLine);
+    String line;
+    while ((line = readLine(in)) != null && !line.isEmpty()) {
+      int colon = line.indexOf(':');
+      if (colon > 0) {
+        head.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+      }
+    }
+    if (line == null) {
+      throw new IOException("Connection closed while reading headers");
+    }
+    return Optional.of(head);
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int b;
+    while ((b = in.read()) != -1 && b != '\n') {
+      if (line.size() > MAX_LINE_LENGTH) {
+        throw new IOException("HTTP header line too long");
+      }
+      line.write(b);
+    }
+    if (b == -1 && line.size() == 0) {
+      return null;
+    }
+    String text = new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+    return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+  }
+
+  String getStartLine() {
+    return startLine;
+  }
+
+  void setStartLine(String startLine) {
+    this.startLine = startLine;
+  }
+
+  /**
+   * @param index the index of the space separated part, e.g. 1 for the
+   *              request target of a request or the status code of a response
+   * @return the part of the start line, empty if there is no such part
+   */
+  String getStartLinePart(int index) {
+    String[] parts = startLine.split(" ", 3);
+    return index < parts.length ? parts[index] : "";
+  }
+
+  /**
+   * @return the value of the first header with the name, ignoring case
+   */
+  Optional<String> get(String name) {
+    return headers.stream()
+        .filter(header -> header.getKey().equalsIgnoreCase(name))
+        .map(Map.Entry::getValue)
+        .findFirst();
+  }
+
+  void add(String name, String value) {
+    headers.add(new SimpleEntry<>(name, value));
+  }
+
+  void set(String name, String value) {
+    remove(name);
+    add(name, value);
+  }
+
+  void remove(String name) {
+    headers.removeIf(header -> header.getKey().equalsIgnoreCase(name));
+  }
+
+  HttpHead copy() {
+    HttpHead copy = new HttpHead(startLine);
+    headers.forEach(header -> copy.add(header.getKey(), header.getValue()));
+    return copy;
+  }
+
+  byte[] toBytes() {
+    StringBuilder head = new StringBuilder(startLine).append("\r\n");
+    headers.forEach(header ->
+        head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n"));
+    return head.append("\r\n").toString().getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  @Override
+  public String toString() {
+    return startLine;
+  }
+}
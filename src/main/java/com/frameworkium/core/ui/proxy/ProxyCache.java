@@ -0,0 +1,272 @@
+package com.frameworkium.core.ui.proxy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A bounded on-disk cache of HTTP responses for the {@link CachingProxy},
+ * evicting the least recently used responses once full.
+ *
+ * <p>Responses are stored if they are cacheable by a shared cache and have
+ * an expiry time or validators. Stale responses with validators are
+ * revalidated with the origin server rather than downloaded again.
+ *
+ * <p>One response is kept per URL. A response which varies on request
+ * headers, e.g. {@code Vary: Accept-Encoding}, is only used for requests
+ * with the same values of those headers, which is normally every request
+ * in a suite.
+ */
+final class ProxyCache {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final Pattern MAX_AGE = Pattern.compile("(?:s-maxage|max-age)=\"?(\\d+)");
+
+  private final Path dir;
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private long totalBytes;
+
+  /**
+   * A cached response, with its body on disk.
+   */
+  static final class Entry {
+
+    private final HttpHead head;
+    private final Map<String, String> varyValues;
+    private final Path body;
+    private final long size;
+    private volatile long freshUntil;
+
+    private Entry(
+        HttpHead head,
+        Map<String, String> varyValues,
+        Path body,
+        long size,
+        long freshUntil) {
+      this.head = head;
+      this.varyValues = varyValues;
+      this.body = body;
+      this.size = size;
+      this.freshUntil = freshUntil;
+    }
+
+    HttpHead getHead() {
+      return head.copy();
+    }
+
+    boolean isFresh(long now) {
+      return now < freshUntil;
+    }
+
+    boolean hasValidators() {
+      return head.get("ETag").isPresent() || head.get("Last-Modified").isPresent();
+    }
+  }
+
+  /**
+   * @param dir           the directory to store response bodies in
+   * @param maxBytes      the maximum total size of the response bodies
+   * @param maxEntryBytes the maximum size of a single response body
+   */
+  ProxyCache(Path dir, long maxBytes, long maxEntryBytes) {
+    this.dir = dir;
+    this.maxBytes = maxBytes;
+    this.maxEntryBytes = maxEntryBytes;
+  }
+
+  long getMaxEntryBytes() {
+    return maxEntryBytes;
+  }
+
+  /**
+   * @param key     the request URL
+   * @param request the request, to match any headers the response varies on
+   * @return the cached response, or empty if there is none for the request
+   */
+  synchronized Optional<Entry> get(String key, HttpHead request) {
+    return Optional.ofNullable(entries.get(key))
+        .filter(entry -> entry.varyValues.equals(getVaryValues(entry.head, request)));
+  }
+
+  /**
+   * @return the body of the response, or empty if it has been evicted
+   */
+  Optional<byte[]> readBody(Entry entry) {
+    try {
+      return Optional.of(Files.readAllBytes(entry.body));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      logger.debug("Failed to read cached response.", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores a response, replacing any previous response for the key.
+   *
+   * @return false if the response was not stored, e.g. it was too large
+   */
+  boolean put(String key, HttpHead request, HttpHead head, byte[] body) {
+    if (body.length > maxEntryBytes || body.length > maxBytes) {
+      return false;
+    }
+    Path file;
+    try {
+      // unique files so readers of a replaced response are unaffected
+      file = Files.createTempFile(dir, "response", ".body");
+      Files.write(file, body);
+    } catch (IOException e) {
+      logger.debug("Failed to cache response.", e);
+      return false;
+    }
+    Entry entry = new Entry(
+        head.copy(),
+        getVaryValues(head, request),
+        file,
+        body.length,
+        freshUntil(head, System.currentTimeMillis()));
+    synchronized (this) {
+      remove(entries.put(key, entry));
+      totalBytes += entry.size;
+      Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+      while (totalBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+        Entry evicted = leastRecentlyUsed.next();
+        leastRecentlyUsed.remove();
+        remove(evicted);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Updates the expiry time of a response the origin server said was not
+   * modified.
+   *
+   * @param notModified the head of the 304 Not Modified response
+   */
+  void refresh(Entry entry, HttpHead notModified) {
+    HttpHead head = notModified.get("Cache-Control").isPresent()
+        || notModified.get("Expires").isPresent()
+        ? notModified
+        : entry.head;
+    entry.freshUntil = freshUntil(head, System.currentTimeMillis());
+  }
+
+  private void remove(Entry entry) {
+    if (entry == null) {
+      return;
+    }
+    totalBytes -= entry.size;
+    try {
+      Files.deleteIfExists(entry.body);
+    } catch (IOException e) {
+      logger.debug("Failed to delete cached response.", e);
+    }
+  }
+
+  synchronized long getSize() {
+    return totalBytes;
+  }
+
+  synchronized int getEntryCount() {
+    return entries.size();
+  }
+
+  /**
+   * Deletes every response and the cache directory.
+   */
+  synchronized void delete() {
+    entries.values().forEach(this::remove);
+    entries.clear();
+    try (Stream<Path> files = Files.list(dir)) {
+      files.forEach(file -> file.toFile().delete());
+      Files.deleteIfExists(dir);
+    } catch (IOException e) {
+      logger.debug("Failed to delete proxy cache " + dir, e);
+    }
+  }
+
+  private static Map<String, String> getVaryValues(HttpHead response, HttpHead request) {
+    Map<String, String> varyValues = new HashMap<>();
+    Arrays.stream(response.get("Vary").orElse("").split(","))
+        .map(String::trim)
+        .filter(vary -> !vary.isEmpty())
+        .forEach(vary -> varyValues.put(
+            vary.toLowerCase(Locale.ROOT), request.get(vary).orElse("")));
+    return varyValues;
+  }
+
+  /**
+   * @return true if a request may be answered from the cache
+   */
+  static boolean isCacheable(String method, HttpHead request) {
+    return "GET".equals(method)
+        && !request.get("Range").isPresent()
+        && !request.get("Authorization").isPresent();
+  }
+
+  /**
+   * @return true if a response may be stored by a shared cache and is either
+   *     fresh for some time or can be revalidated
+   */
+  static boolean isCacheable(HttpHead response) {
+    String cacheControl = response.get("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+    return "200".equals(response.getStartLinePart(1))
+        && !cacheControl.contains("no-store")
+        && !cacheControl.contains("private")
+        && !response.get("Set-Cookie").isPresent()
+        && !response.get("Vary").orElse("").contains("*")
+        && (MAX_AGE.matcher(cacheControl).find()
+        || response.get("Expires").isPresent()
+        || response.get("ETag").isPresent()
+        || response.get("Last-Modified").isPresent());
+  }
+
+  /**
+   * @return the time, in epoch millis, until which the response can be used
+   *     without revalidating
+   */
+  static long freshUntil(HttpHead response, long now) {
+    String cacheControl = response.get("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+    if (cacheControl.contains("no-cache")) {
+      return 0;
+    }
+    Matcher maxAge = MAX_AGE.matcher(cacheControl);
+    if (maxAge.find()) {
+      return now + Long.parseLong(maxAge.group(1)) * 1000;
+    }
+    return response.get("Expires").map(expires -> {
+      try {
+        return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME)
+            .toInstant()
+            .toEpochMilli();
+      } catch (DateTimeParseException e) {
+        return 0L;
+      }
+    }).orElse(0L);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("%d responses, %d KB", entries.size(), totalBytes / 1024);
+  }
+}
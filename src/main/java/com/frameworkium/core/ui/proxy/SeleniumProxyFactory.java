@@ -50,7 +50,11 @@ public class SeleniumProxyFactory {
     return proxy;
   }
 
-  private static String getProxyURL(String proxyProperty) {
+  /**
+   * @return the {@code host:port} of an {@code http://{hostname}:{port}} proxy
+   * @throws IllegalArgumentException if the proxy is not a valid URI
+   */
+  static String getProxyURL(String proxyProperty) {
     try {
       URI proxyURI = new URI(proxyProperty);
       String host = proxyURI.getHost();
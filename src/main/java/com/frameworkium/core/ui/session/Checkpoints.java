@@ -0,0 +1,98 @@
+package com.frameworkium.core.ui.session;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Named points in a navigation shared by many tests, e.g. after creating an
+ * entity and opening its page, which later tests start from instead of
+ * replaying the steps to get there.
+ *
+ * <p>A checkpoint records the URL, cookies and web storage of the site as a
+ * {@link SessionState}. It is created once per suite by the first test to
+ * need it, other tests needing it at the same time wait for it. Server-side
+ * state created by the steps, e.g. the entity, is shared by every test
+ * starting from the checkpoint.
+ */
+public final class Checkpoints {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final Map<String, CompletableFuture<SessionState>> checkpoints =
+      new ConcurrentHashMap<>();
+
+  private Checkpoints() {
+    // hide default constructor for this util class
+  }
+
+  /**
+   * Restores the checkpoint into the browser and opens its URL, or, if the
+   * checkpoint does not exist yet, runs the steps to reach it in the browser
+   * and records it.
+   *
+   * @param driver     the browser
+   * @param checkpoint the name of the checkpoint
+   * @param steps      the steps to reach the checkpoint from a new browser
+   */
+  public static void startFrom(WebDriver driver, String checkpoint, Consumer<WebDriver> steps) {
+    while (true) {
+      CompletableFuture<SessionState> created = new CompletableFuture<>();
+      CompletableFuture<SessionState> existing = checkpoints.putIfAbsent(checkpoint, created);
+      if (existing == null) {
+        create(driver, checkpoint, steps, created);
+        return;
+      }
+      try {
+        SessionState state = existing.join();
+        state.restore(driver);
+        driver.get(state.getUrl());
+        logger.debug("Started from checkpoint {}", checkpoint);
+        return;
+      } catch (CompletionException e) {
+        // the test creating it failed, so this test tries to create it
+        logger.debug("Failed to create checkpoint " + checkpoint, e.getCause());
+      }
+    }
+  }
+
+  private static void create(
+      WebDriver driver,
+      String checkpoint,
+      Consumer<WebDriver> steps,
+      CompletableFuture<SessionState> created) {
+    try {
+      steps.accept(driver);
+      SessionState state = SessionState.capture(driver);
+      created.complete(state);
+      logger.info("Created checkpoint {} at {}", checkpoint, state);
+    } catch (RuntimeException e) {
+      checkpoints.remove(checkpoint, created);
+      created.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * @return the checkpoint, or empty if it has not been created yet
+   */
+  public static Optional<SessionState> get(String checkpoint) {
+    CompletableFuture<SessionState> state = checkpoints.get(checkpoint);
+    return state == null || !state.isDone() || state.isCompletedExceptionally()
+        ? Optional.empty()
+        : Optional.of(state.join());
+  }
+
+  /**
+   * Discards every checkpoint.
+   */
+  public static void clear() {
+    checkpoints.clear();
+  }
+}
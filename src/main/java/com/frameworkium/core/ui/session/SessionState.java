@@ -0,0 +1,153 @@
+package com.frameworkium.core.ui.session;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The cookies, {@code localStorage} and {@code sessionStorage} of the site a
+ * browser is on, which can be restored into another browser to skip e.g.
+ * logging in.
+ *
+ * <p>Only cookies visible to the current page are captured, so sessions
+ * relying on cookies of other domains, e.g. a single sign-on provider, are
+ * not restored.
+ */
+public final class SessionState {
+
+  private static final String READ_STORAGE_SCRIPT =
+      "var storage = window[arguments[0]], items = {};"
+          + "for (var i = 0; i < storage.length; i++) {"
+          + "  var key = storage.key(i);"
+          + "  items[key] = storage.getItem(key);"
+          + "}"
+          + "return items;";
+  private static final String WRITE_STORAGE_SCRIPT =
+      "var storage = window[arguments[0]], items = arguments[1];"
+          + "storage.clear();"
+          + "for (var key in items) { storage.setItem(key, items[key]); }";
+
+  private final String url;
+  private final String origin;
+  private final Set<Cookie> cookies;
+  private final Map<String, String> localStorage;
+  private final Map<String, String> sessionStorage;
+
+  private SessionState(
+      String url,
+      Set<Cookie> cookies,
+      Map<String, String> localStorage,
+      Map<String, String> sessionStorage) {
+    this.url = url;
+    this.origin = getOrigin(url);
+    this.cookies = Collections.unmodifiableSet(cookies);
+    this.localStorage = Collections.unmodifiableMap(localStorage);
+    this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+  }
+
+  /**
+   * @param driver the browser, on a page of the site
+   * @return the state of the site in the browser
+   */
+  public static SessionState capture(WebDriver driver) {
+    return new SessionState(
+        driver.getCurrentUrl(),
+        new HashSet<>(driver.manage().getCookies()),
+        readStorage(driver, "localStorage"),
+        readStorage(driver, "sessionStorage"));
+  }
+
+  /**
+   * Restores the state into a browser, opening a page on the same origin
+   * first if the browser is on another site, and clearing any existing
+   * cookies and storage of the site.
+   *
+   * @param driver the browser to restore into
+   */
+  public void restore(WebDriver driver) {
+    if (!origin.equals(getOrigin(driver.getCurrentUrl()))) {
+      // any page of the origin will do, this one is usually small
+      driver.get(origin + "/robots.txt");
+    }
+    driver.manage().deleteAllCookies();
+    cookies.forEach(driver.manage()::addCookie);
+    writeStorage(driver, "localStorage", localStorage);
+    writeStorage(driver, "sessionStorage", sessionStorage);
+  }
+
+  /**
+   * Removes the cookies and storage of the site from a browser on the site.
+   *
+   * @param driver the browser to clear
+   */
+  public static void clear(WebDriver driver) {
+    driver.manage().deleteAllCookies();
+    writeStorage(driver, "localStorage", Collections.emptyMap());
+    writeStorage(driver, "sessionStorage", Collections.emptyMap());
+  }
+
+  /**
+   * @return whether any cookie has expired, in which case the server is
+   *     likely to reject the session
+   */
+  public boolean isExpired() {
+    Date now = new Date();
+    return cookies.stream()
+        .anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(now));
+  }
+
+  /**
+   * @return the URL of the page the state was captured on
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  public Set<Cookie> getCookies() {
+    return cookies;
+  }
+
+  public Map<String, String> getLocalStorage() {
+    return localStorage;
+  }
+
+  public Map<String, String> getSessionStorage() {
+    return sessionStorage;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, String> readStorage(WebDriver driver, String storage) {
+    Object items = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT, storage);
+    Map<String, String> values = new HashMap<>();
+    if (items instanceof Map) {
+      ((Map<String, Object>) items).forEach((key, value) -> values.put(key, String.valueOf(value)));
+    }
+    return values;
+  }
+
+  private static void writeStorage(WebDriver driver, String storage, Map<String, String> items) {
+    ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, storage, items);
+  }
+
+  private static String getOrigin(String url) {
+    try {
+      URI uri = URI.create(url);
+      return uri.getScheme() + "://" + uri.getRawAuthority();
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return "";
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (%d cookies, %d localStorage and %d sessionStorage items)",
+        origin, cookies.size(), localStorage.size(), sessionStorage.size());
+  }
+}
@@ -0,0 +1,98 @@
+package com.frameworkium.core.ui.session;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Logs in once per user role per suite, restoring the captured
+ * {@link SessionState} into the browsers of later tests for the same role.
+ *
+ * <p>A restored session which the server rejects, according to the given
+ * check, is discarded and the role logs in again.
+ */
+public final class SessionStore {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+  private static final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+  private SessionStore() {
+    // hide default constructor for this util class
+  }
+
+  /**
+   * Restores the session of the role into the browser, or, if there is no
+   * valid session, logs in and captures the session. Only one browser logs
+   * in for a role at a time, others wait for its session.
+   *
+   * @param driver     the browser
+   * @param role       the user role, e.g. {@code admin}
+   * @param login      logs the browser in as the role, leaving it on a page
+   *                   of the site
+   * @param isLoggedIn checks whether a browser with a restored session is
+   *                   logged in, e.g. by opening a page which requires it
+   */
+  public static void loginAs(
+      WebDriver driver,
+      String role,
+      Consumer<WebDriver> login,
+      Predicate<WebDriver> isLoggedIn) {
+    SessionState seen = sessions.get(role);
+    if (seen != null && tryRestore(driver, role, seen, isLoggedIn)) {
+      return;
+    }
+    synchronized (loginLocks.computeIfAbsent(role, r -> new Object())) {
+      SessionState current = sessions.get(role);
+      if (current != null && current != seen && tryRestore(driver, role, current, isLoggedIn)) {
+        return;
+      }
+      login.accept(driver);
+      SessionState session = SessionState.capture(driver);
+      sessions.put(role, session);
+      logger.info("Logged in as {}, captured {}", role, session);
+    }
+  }
+
+  private static boolean tryRestore(
+      WebDriver driver, String role, SessionState session, Predicate<WebDriver> isLoggedIn) {
+    if (!session.isExpired()) {
+      session.restore(driver);
+      if (isLoggedIn.test(driver)) {
+        logger.debug("Restored session for {}", role);
+        return true;
+      }
+      SessionState.clear(driver);
+    }
+    logger.info("Session for {} is no longer valid, logging in again", role);
+    sessions.remove(role, session);
+    return false;
+  }
+
+  /**
+   * @return the captured session of the role, if any
+   */
+  public static Optional<SessionState> get(String role) {
+    return Optional.ofNullable(sessions.get(role));
+  }
+
+  /**
+   * Discards the session of the role, so the next test for the role logs in.
+   */
+  public static void invalidate(String role) {
+    sessions.remove(role);
+  }
+
+  /**
+   * Discards every session.
+   */
+  public static void clear() {
+    sessions.clear();
+  }
+}
@@ -6,6 +6,7 @@ import com.frameworkium.core.common.listeners.TestListener;
 import com.frameworkium.core.ui.UITestLifecycle;
 import com.frameworkium.core.ui.capture.ScreenshotCapture;
 import com.frameworkium.core.ui.driver.Driver;
+import com.frameworkium.core.ui.listeners.AdaptiveConcurrencyListener;
 import com.frameworkium.core.ui.listeners.CaptureListener;
 import com.frameworkium.core.ui.listeners.SauceLabsListener;
 import com.frameworkium.core.ui.listeners.ScreenshotListener;
@@ -22,6 +23,7 @@ import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.Wait;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
@@ -32,7 +34,7 @@ import org.testng.annotations.Test;
 @Listeners({
     CaptureListener.class, ScreenshotListener.class, MethodInterceptor.class,
     SauceLabsListener.class, TestListener.class, ResultLoggerListener.class,
-    VideoListener.class})
+    VideoListener.class, AdaptiveConcurrencyListener.class})
 @Test(groups = "base-ui")
 public abstract class BaseUITest
     implements SauceOnDemandSessionIdProvider, SauceOnDemandAuthenticationProvider {
@@ -58,6 +60,14 @@ public abstract class BaseUITest
     UITestLifecycle.get().afterTestMethod();
   }
 
+  /**
+   * Releases any browser kept for this test class.
+   */
+  @AfterClass(alwaysRun = true)
+  protected void tearDownClassDriver() {
+    UITestLifecycle.get().afterTestClass(getClass());
+  }
+
   /**
    * <ul>
    * <li>Ensures each driver in the pool has {@code quit()}
@@ -137,7 +147,8 @@ public abstract class BaseUITest
   }
 
   /**
-   * Runs before each test method, it initialises the following:
+   * Runs before each test method, it prepares the following which are
+   * initialised when the test first uses the browser:
    * <ul>
    * <li>{@link Driver} and {@link WebDriver}</li>
    * <li>{@link Wait}</li>
@@ -147,7 +158,7 @@ public abstract class BaseUITest
    */
   @BeforeMethod(alwaysRun = true)
   protected void configureBrowserBeforeTest(Method testMethod) {
-    UITestLifecycle.get().beforeTestMethod(testMethod);
+    UITestLifecycle.get().beforeTestMethod(testMethod, getClass());
   }
 
   @Override
@@ -0,0 +1,21 @@
+package com.frameworkium.core.ui.daemon
+
+import org.testng.annotations.Test
+
+/**
+ * Tests run by {@link RunDaemonSpec} through the daemon.
+ */
+class DaemonSampleTests {
+
+    @Test
+    void passes() {
+        // loaded afresh, so in another runtime package to ReloadingClassLoader
+        assert getClass().classLoader.getClass().simpleName == "ReloadingClassLoader"
+        assert System.getProperty("daemonSample") == "requested"
+    }
+
+    @Test
+    void fails() {
+        assert false: "failed on purpose"
+    }
+}
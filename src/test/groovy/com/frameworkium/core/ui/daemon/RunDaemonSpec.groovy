@@ -0,0 +1,56 @@
+package com.frameworkium.core.ui.daemon
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.nio.file.Paths
+
+class RunDaemonSpec extends Specification {
+
+    @AutoCleanup
+    RunDaemon sut = new RunDaemon(0, [
+            Paths.get(DaemonSampleTests.protectionDomain.codeSource.location.toURI())])
+
+    def setup() {
+        Thread.start { sut.serve() }
+    }
+
+    List<String> send(List<String> request) {
+        def output = new ByteArrayOutputStream()
+        RunDaemonClient.send(request, sut.port, new PrintStream(output, true, "UTF-8"))
+        output.toString("UTF-8").readLines()
+    }
+
+    def "results of tests in reloaded classes are streamed back, with run properties"() {
+        given:
+            def sample = DaemonSampleTests.name
+        when:
+            def results = send(RunDaemonClient.toRequest(sample, "-DdaemonSample=requested"))
+        then:
+            results.any { it ==~ /PASSED ${sample}#passes \(\d+ms\)/ }
+            results.any { it.startsWith("FAILED ${sample}#fails") && it.contains("failed on purpose") }
+            results.last() == "DONE passed=1 failed=1 skipped=0"
+            System.getProperty("daemonSample") == null
+    }
+
+    def "runs only the requested methods, one run after another"() {
+        given:
+            def request = RunDaemonClient.toRequest(
+                    DaemonSampleTests.name + "#passes", "-DdaemonSample=requested")
+        expect:
+            send(request).last() == "DONE passed=1 failed=0 skipped=0"
+            send(request).last() == "DONE passed=1 failed=0 skipped=0"
+    }
+
+    def "unknown classes and invalid requests are reported"() {
+        expect:
+            send(["class com.example.Missing", "run"]) ==
+                    ["ERROR Test class not found: com.example.Missing"]
+            send(["test a.B", "run"]).first().startsWith("ERROR Unknown instruction")
+    }
+
+    def "stop shuts the daemon down"() {
+        expect:
+            send(["stop"]) == ["STOPPING"]
+    }
+}
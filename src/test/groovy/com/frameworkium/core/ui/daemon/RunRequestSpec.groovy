@@ -0,0 +1,63 @@
+package com.frameworkium.core.ui.daemon
+
+import spock.lang.Specification
+
+class RunRequestSpec extends Specification {
+
+    static RunRequest read(String lines) {
+        RunRequest.read(new BufferedReader(new StringReader(lines)))
+    }
+
+    def "request lists classes, methods and properties up to run"() {
+        when:
+            def request = read("""\
+                |class com.example.LoginTest
+                |method com.example.SearchTest#byName
+                |
+                |method com.example.SearchTest#byId
+                |property browser=firefox
+                |property blockedUrls=a=b
+                |run
+                |class ignored.AfterRun
+                |""".stripMargin())
+        then:
+            request.tests == [
+                    "com.example.LoginTest" : [],
+                    "com.example.SearchTest": ["byName", "byId"]]
+            request.properties == [browser: "firefox", blockedUrls: "a=b"]
+            !request.stop
+    }
+
+    def "a whole class runs every method, whichever methods are also requested"() {
+        expect:
+            read("method a.B#one\nclass a.B\nmethod a.B#two\nrun").tests == ["a.B": []]
+    }
+
+    def "stop shuts the daemon down"() {
+        expect:
+            read("stop").stop
+    }
+
+    def "invalid requests are rejected"() {
+        when:
+            read(lines)
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            lines << [
+                    "run",
+                    "class a.B",
+                    "method a.B\nrun",
+                    "method a.B#\nrun",
+                    "property noValue\nrun",
+                    "class\nrun",
+                    "test a.B\nrun"]
+    }
+
+    def "client arguments become request lines"() {
+        expect:
+            RunDaemonClient.toRequest("a.B", "a.C#one", "-Dbrowser=chrome") ==
+                    ["class a.B", "method a.C#one", "property browser=chrome", "run"]
+            RunDaemonClient.toRequest("--stop") == ["stop"]
+    }
+}
@@ -0,0 +1,61 @@
+package com.frameworkium.core.ui.driver
+
+import org.openqa.selenium.ImmutableCapabilities
+import org.openqa.selenium.chromium.ChromiumDriver
+import org.openqa.selenium.devtools.DevTools
+import org.openqa.selenium.remote.CommandExecutor
+import org.openqa.selenium.remote.DriverCommand
+import org.openqa.selenium.remote.Response
+import org.openqa.selenium.remote.SessionId
+
+/**
+ * A Chromium browser which records DevTools commands instead of sending them,
+ * answering with the given {@link #responses}, and uses the given DevTools.
+ */
+class FakeChromiumDriver extends ChromiumDriver {
+
+    DevTools devTools
+    String windowHandle = "page-1"
+    /** Response, by command, to each command. */
+    Map<String, Closure<Map<String, Object>>> responses = [:]
+    /** Each command sent, as {@code [method: ..., params: ...]}. */
+    List<Map<String, Object>> cdpCommands = []
+
+    FakeChromiumDriver() {
+        super({ command ->
+            assert command.name == DriverCommand.NEW_SESSION
+            def response = new Response(new SessionId("session"))
+            response.value = [browserName: "chrome"]
+            response
+        } as CommandExecutor, new ImmutableCapabilities(), "goog")
+    }
+
+    @Override
+    DevTools getDevTools() {
+        if (devTools == null) {
+            throw new IllegalStateException("no DevTools for this browser version")
+        }
+        devTools
+    }
+
+    @Override
+    String getWindowHandle() {
+        windowHandle
+    }
+
+    @Override
+    Map<String, Object> executeCdpCommand(String command, Map<String, Object> params) {
+        cdpCommands << [method: command, params: params]
+        def response = responses[command]
+        response == null ? [:] : response(params)
+    }
+
+    List<String> getMethods() {
+        cdpCommands*.method
+    }
+
+    /** @return the parameters of each command sent with the given method */
+    List<Map<String, Object>> paramsOf(String method) {
+        cdpCommands.findAll { it.method == method }*.params
+    }
+}
@@ -0,0 +1,34 @@
+package com.frameworkium.core.ui.driver
+
+import spock.lang.Specification
+
+import static com.frameworkium.core.ui.driver.FastMode.Part.BACKGROUND_NETWORKING
+import static com.frameworkium.core.ui.driver.FastMode.Part.COMPONENT_UPDATE
+import static com.frameworkium.core.ui.driver.FastMode.Part.EXTENSIONS
+import static com.frameworkium.core.ui.driver.FastMode.Part.GPU
+import static com.frameworkium.core.ui.driver.FastMode.Part.SMOOTH_SCROLLING
+import static com.frameworkium.core.ui.driver.FastMode.Part.WINDOW_SIZE
+
+class FastModeSpec extends Specification {
+
+    def "parts are parsed from the fast mode property"(String fastMode, Set parts) {
+        expect:
+            FastMode.parseParts(fastMode) == parts as Set
+        where:
+            fastMode                | parts
+            "false"                 | []
+            "true"                  | [BACKGROUND_NETWORKING, COMPONENT_UPDATE, EXTENSIONS,
+                                       GPU, SMOOTH_SCROLLING, WINDOW_SIZE]
+            "gpu, window_size"      | [GPU, WINDOW_SIZE]
+            "true,-gpu,-extensions" | [BACKGROUND_NETWORKING, COMPONENT_UPDATE,
+                                       SMOOTH_SCROLLING, WINDOW_SIZE]
+            "true,images"           | FastMode.Part.values()
+    }
+
+    def "unknown parts are rejected"() {
+        when:
+            FastMode.parseParts("true,sound")
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,50 @@
+package com.frameworkium.core.ui.driver
+
+import org.openqa.selenium.devtools.Connection
+import org.openqa.selenium.devtools.DevTools
+import org.openqa.selenium.devtools.idealized.Domains
+import org.openqa.selenium.remote.http.HttpClient
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class RequestBlockerSpec extends Specification {
+
+    def urls = ["*analytics.com*", "*ads.net*"]
+
+    def "blocked requests are counted per page load"() {
+        given:
+            def connection = Stub(constructorArgs: [Stub(HttpClient), "ws://devtools"], Connection)
+            def devTools = Mock(constructorArgs: [{ Stub(Domains) } as Function, connection], DevTools)
+            def driver = new FakeChromiumDriver(devTools: devTools)
+            def listener
+        when:
+            RequestBlocker.block(driver, urls)
+        then:
+            1 * devTools.addListener({ it.method == "Network.loadingFailed" }, _) >> {
+                listener = it[1]
+            }
+            1 * devTools.send({ it.method == "Network.enable" })
+            1 * devTools.send({ it.method == "Network.setBlockedURLs" && it.params.urls == urls })
+        when:
+            listener.accept([blockedReason: "inspector"])
+            listener.accept([blockedReason: "inspector"])
+            listener.accept([blockedReason: "mixed-content"])
+            listener.accept([errorText: "net::ERR_FAILED"])
+        then:
+            RequestBlocker.takeBlockedCount(driver) == 2
+            RequestBlocker.takeBlockedCount(driver) == 0
+    }
+
+    def "requests are blocked without counting if DevTools is unavailable"() {
+        given:
+            def driver = new FakeChromiumDriver()
+        when:
+            RequestBlocker.block(driver, urls)
+        then:
+            driver.cdpCommands == [
+                    [method: "Network.enable", params: [:]],
+                    [method: "Network.setBlockedURLs", params: [urls: urls]]]
+            RequestBlocker.takeBlockedCount(driver) == 0
+    }
+}
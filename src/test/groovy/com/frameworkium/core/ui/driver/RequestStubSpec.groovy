@@ -0,0 +1,58 @@
+package com.frameworkium.core.ui.driver
+
+import com.frameworkium.core.ui.annotations.StubRequest
+import spock.lang.Specification
+
+import java.time.Duration
+
+class RequestStubSpec extends Specification {
+
+    def "URL patterns match as DevTools would match them"(String pattern, String url, boolean matches) {
+        expect:
+            RequestStub.forUrl(pattern).matches(url) == matches
+        where:
+            pattern                      | url                                  | matches
+            "*://api.example.com/*"      | "https://api.example.com/prices?a=1" | true
+            "*://api.example.com/*"      | "https://www.example.com/prices"     | false
+            "*/prices/?"                 | "http://host/prices/1"               | true
+            "*/prices/?"                 | "http://host/prices/12"              | false
+            "*/prices\\?page=*"          | "http://host/prices?page=2"          | true
+            "http://host/a.b"            | "http://host/axb"                    | false
+    }
+
+    def "fixtures are read from the classpath"() {
+        when:
+            def stub = RequestStub.forUrl("*prices*").withFixture("fixtures/prices.json")
+        then:
+            new String(stub.body).trim() == '{"price": 42}'
+            stub.contentType == "application/json"
+            stub.status == 200
+    }
+
+    def "missing fixtures are rejected"() {
+        when:
+            RequestStub.forUrl("*").withFixture("fixtures/missing.json")
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "stubs can be declared with annotations"() {
+        when:
+            def stub = RequestStub.from(
+                    AnnotatedTest.getMethod("test").getAnnotation(StubRequest))
+        then:
+            stub.urlPattern == "*slow*"
+            stub.fixture.get() == "fixtures/prices.json"
+            stub.status == 201
+            stub.contentType == "text/plain"
+            stub.delay == Duration.ofMillis(250)
+    }
+
+    static class AnnotatedTest {
+
+        @StubRequest(value = "*slow*", fixture = "fixtures/prices.json", status = 201,
+                contentType = "text/plain", delayMillis = 250L)
+        void test() {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.frameworkium.core.ui.driver
+
+import org.openqa.selenium.devtools.Connection
+import org.openqa.selenium.devtools.DevTools
+import org.openqa.selenium.devtools.idealized.Domains
+import org.openqa.selenium.remote.http.HttpClient
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.function.Function
+
+class RequestStubberSpec extends Specification {
+
+    def connection = Stub(constructorArgs: [Stub(HttpClient), "ws://devtools"], Connection)
+    def devTools = Mock(constructorArgs: [{ Stub(Domains) } as Function, connection], DevTools)
+    def sent = [].asSynchronized()
+    def listener
+
+    def setup() {
+        devTools.addListener({ it.method == "Fetch.requestPaused" }, _) >> { listener = it[1] }
+        devTools.send({ it.method == "Target.getTargetInfo" }) >> [targetInfo: [targetId: "page-1"]]
+        devTools.send(_) >> { sent << it[0]; null }
+    }
+
+    def "matching requests are answered from fixtures and logged"() {
+        given:
+            def sut = RequestStubber.create(devTools)
+            sut.apply([
+                    RequestStub.forUrl("*/prices*").withFixture("fixtures/prices.json"),
+                    RequestStub.forUrl("*/slow*").withDelay(Duration.ofMillis(50))])
+        when:
+            listener.accept([requestId: "1", request: [method: "GET", url: "http://host/prices"]])
+            listener.accept([requestId: "2", request: [method: "GET", url: "http://host/slow"]])
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert sent.size() == 3
+            }
+            sent[0].method == "Fetch.enable"
+            sent[0].params.patterns*.urlPattern == ["*/prices*", "*/slow*"]
+            def fulfilled = sent.find { it.method == "Fetch.fulfillRequest" }
+            fulfilled.params.requestId == "1"
+            new String(Base64.decoder.decode(fulfilled.params.body as String)).trim() == '{"price": 42}'
+            sent.find { it.method == "Fetch.continueRequest" }.params.requestId == "2"
+            sut.hits.size() == 2
+            sut.hits[0].startsWith("GET http://host/prices -> */prices* -> fixtures/prices.json")
+    }
+
+    def "requests are stubbed in the browser's first window"() {
+        given:
+            def driver = new FakeChromiumDriver(devTools: devTools)
+        expect:
+            RequestStubber.stub(driver, [RequestStub.forUrl("*/prices*")])
+            sent*.method == ["Fetch.enable"]
+    }
+
+    def "requests are not stubbed in other windows, e.g. a browser context's page"() {
+        given:
+            def driver = new FakeChromiumDriver(devTools: devTools, windowHandle: "context-page")
+        expect:
+            !RequestStubber.stub(driver, [RequestStub.forUrl("*/prices*")])
+            sent.empty
+    }
+
+    def "failing to apply stubs is reported rather than thrown"() {
+        given:
+            def failingDevTools = Mock(constructorArgs: [{ Stub(Domains) } as Function, connection], DevTools) {
+                send({ it.method == "Fetch.enable" }) >> { throw new IllegalStateException("target closed") }
+            }
+            def driver = new FakeChromiumDriver(devTools: failingDevTools)
+        expect:
+            !RequestStubber.stub(driver, [RequestStub.forUrl("*/prices*")])
+    }
+}
@@ -0,0 +1,98 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.lifecycle.AdaptiveConcurrency.Outcome
+import spock.lang.Specification
+
+class AdaptiveConcurrencySpec extends Specification {
+
+    static final long SECOND = 1_000_000_000L
+
+    def sut = new AdaptiveConcurrency(2, 4)
+
+    def window(long testNanos, int failures = 0) {
+        def tests = Math.max(4, sut.limit)
+        tests.times { sut.recordTest(testNanos, it < failures ? Outcome.FAILED : Outcome.PASSED) }
+    }
+
+    def "starts at the floor and ramps up to the ceiling while tests are healthy"() {
+        expect:
+            sut.limit == 2
+        when:
+            5.times { window(SECOND) }
+        then:
+            sut.limit == 4
+    }
+
+    def "backs off towards the floor when test time spikes"() {
+        given:
+            2.times { window(SECOND) }
+        when:
+            window(3 * SECOND)
+        then:
+            sut.limit == 3
+    }
+
+    def "backs off when the failure rate spikes"() {
+        given:
+            2.times { window(SECOND) }
+        when:
+            window(SECOND, 2)
+        then:
+            sut.limit == 3
+    }
+
+    def "skipped tests are neither healthy nor failures"() {
+        when:
+            10.times { sut.recordTest(SECOND, Outcome.SKIPPED) }
+        then:
+            sut.limit == 2
+    }
+
+    def "the outcome recorded for the thread's test is counted when it exits"() {
+        given:
+            2.times { window(SECOND) }
+        when:
+            sut.enter()
+            sut.recordOutcome(Outcome.FAILED)
+            sut.exit()
+            3.times { sut.recordTest(SECOND, Outcome.PASSED) }
+        then:
+            sut.limit == 3
+    }
+
+    def "backs off when browser startup spikes"() {
+        given:
+            sut.recordStartup(SECOND)
+            window(SECOND)
+        when:
+            sut.recordStartup(5 * SECOND)
+            window(SECOND)
+        then:
+            sut.limit == 2
+    }
+
+    def "tests wait to start while the limit is reached"() {
+        given:
+            sut.enter()
+            def started = 0
+            def tests = (1..2).collect { Thread.start { sut.enter(); started++ } }
+            Thread.sleep(200)
+        expect:
+            started == 1
+        when:
+            sut.exit()
+            tests*.join(5000)
+        then:
+            started == 2
+    }
+
+    def "bounds are a floor and ceiling or true for up to the thread count"() {
+        expect:
+            AdaptiveConcurrency.parseBounds(value, 6) == expected as int[]
+        where:
+            value   | expected
+            "2-8"   | [2, 8]
+            " 1 - 3" | [1, 3]
+            "true"  | [1, 6]
+    }
+}
@@ -0,0 +1,61 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+class AdmissionGateSpec extends Specification {
+
+    def "threads beyond the limit are not admitted"() {
+        given:
+            def sut = new AdmissionGate(2)
+        expect:
+            sut.tryEnter(Duration.ZERO)
+            sut.tryEnter(Duration.ZERO)
+            !sut.tryEnter(Duration.ofMillis(50))
+            sut.inside == 2
+    }
+
+    def "lowering the limit keeps threads inside and admits no more until they leave"() {
+        given:
+            def sut = new AdmissionGate(2)
+            2.times { sut.tryEnter(Duration.ZERO) }
+        when:
+            sut.resize(1)
+            sut.exit()
+        then:
+            !sut.tryEnter(Duration.ZERO)
+        when:
+            sut.exit()
+        then:
+            sut.tryEnter(Duration.ZERO)
+            sut.inside == 1
+    }
+
+    def "raising the limit admits waiting threads in the order they arrived"() {
+        given:
+            def sut = new AdmissionGate(0)
+            def admitted = Collections.synchronizedList([])
+            def threads = (1..3).collect { id ->
+                def thread = Thread.start {
+                    if (sut.tryEnter(Duration.ofSeconds(5))) {
+                        admitted << id
+                    }
+                }
+                while (sut.waiting < id) {
+                    Thread.sleep(5)
+                }
+                thread
+            }
+        when:
+            sut.resize(2)
+            Thread.sleep(200)
+        then:
+            admitted as Set == [1, 2] as Set
+        when:
+            sut.exit()
+            threads*.join()
+        then:
+            admitted.last() == 3
+    }
+}
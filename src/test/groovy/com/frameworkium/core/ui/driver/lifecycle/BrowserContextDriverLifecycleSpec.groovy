@@ -0,0 +1,112 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.common.properties.Property
+import com.frameworkium.core.ui.driver.Driver
+import com.frameworkium.core.ui.driver.FakeChromiumDriver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+class BrowserContextDriverLifecycleSpec extends Specification {
+
+    def sut = new BrowserContextDriverLifecycle()
+
+    def "one browser per thread is reused, deleting cookies when contexts are unsupported"() {
+        given:
+            def options = Mock(WebDriver.Options)
+            def EFWebDriverMock = Mock(constructorArgs: [Stub(WebDriver)], EventFiringWebDriver) {
+                manage() >> options
+            }
+            def created = 0
+            def driverSupplier = {
+                created++
+                Mock(Driver) { getWebDriver() >> EFWebDriverMock }
+            }
+        when:
+            2.times {
+                sut.initBrowserBeforeTest(driverSupplier)
+                sut.tearDownDriver()
+            }
+            sut.tearDownDriverPool()
+        then:
+            created == 1
+            2 * options.deleteAllCookies()
+            1 * EFWebDriverMock.quit()
+    }
+
+    def "each test gets a new browser context in a Chromium browser"() {
+        given:
+            def chromium = new FakeChromiumDriver(responses: [
+                    "Target.createBrowserContext": { [browserContextId: "context-1"] },
+                    "Target.createTarget"        : { [targetId: "target-1"] }])
+            def targetLocator = Mock(WebDriver.TargetLocator)
+            def EFWebDriverMock = Mock(constructorArgs: [chromium], EventFiringWebDriver) {
+                getWrappedDriver() >> chromium
+                getWindowHandle() >> "default"
+                switchTo() >> targetLocator
+            }
+            def driverMock = Mock(Driver) { getWebDriver() >> EFWebDriverMock }
+        when:
+            sut.initBrowserBeforeTest({ driverMock })
+        then:
+            1 * targetLocator.window("target-1")
+            chromium.methods == ["Target.createBrowserContext", "Target.createTarget"]
+            chromium.paramsOf("Target.createTarget")[0].browserContextId == "context-1"
+        when:
+            sut.tearDownDriver()
+        then:
+            1 * targetLocator.window("default")
+            chromium.methods.last() == "Target.disposeBrowserContext"
+            chromium.paramsOf("Target.disposeBrowserContext") == [[browserContextId: "context-1"]]
+    }
+
+    def "each browser context's page blocks requests and freezes animations"() {
+        given:
+            System.properties["blockedUrls"] = "*analytics.com*"
+            System.properties["freezeAnimations"] = "true"
+            Property.reload()
+            def chromium = new FakeChromiumDriver(responses: [
+                    "Target.createBrowserContext": { [browserContextId: "context-1"] },
+                    "Target.createTarget"        : { [targetId: "target-1"] }])
+            def EFWebDriverMock = Mock(constructorArgs: [chromium], EventFiringWebDriver) {
+                getWrappedDriver() >> chromium
+                switchTo() >> Stub(WebDriver.TargetLocator)
+            }
+        when:
+            sut.initBrowserBeforeTest({ Mock(Driver) { getWebDriver() >> EFWebDriverMock } })
+        then: "commands after switching to the page are sent to it"
+            chromium.methods == [
+                    "Target.createBrowserContext",
+                    "Target.createTarget",
+                    "Network.enable",
+                    "Network.setBlockedURLs",
+                    "Page.addScriptToEvaluateOnNewDocument"]
+            chromium.paramsOf("Network.setBlockedURLs") == [[urls: ["*analytics.com*"]]]
+        cleanup:
+            System.clearProperty("blockedUrls")
+            System.clearProperty("freezeAnimations")
+            Property.reload()
+    }
+
+    def "browser is replaced when tear down fails"() {
+        given:
+            def EFWebDriverMock = Mock(constructorArgs: [Stub(WebDriver)], EventFiringWebDriver) {
+                manage() >> { throw new IllegalStateException("browser crashed") }
+            }
+            def created = 0
+            def driverSupplier = {
+                created++
+                Mock(Driver) { getWebDriver() >> EFWebDriverMock }
+            }
+            sut.initBrowserBeforeTest(driverSupplier)
+        when:
+            sut.tearDownDriver()
+        then:
+            thrown IllegalStateException
+            1 * EFWebDriverMock.quit()
+        when:
+            sut.initBrowserBeforeTest(driverSupplier)
+        then:
+            created == 2
+    }
+}
@@ -0,0 +1,110 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class ClassScopedDriverLifecycleSpec extends Specification {
+
+    def webDriverStub = Stub(WebDriver)
+    def EFWebDriverMock =
+            Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                getWrappedDriver() >> webDriverStub
+            }
+    def driverMock = Mock(Driver) {
+        getWebDriver() >> EFWebDriverMock
+    }
+    def created = new AtomicInteger()
+    def driverSupplier = {
+        created.incrementAndGet()
+        driverMock
+    }
+
+    def sut = new ClassScopedDriverLifecycle()
+
+    def "methods of a class share one driver which is quit after the class"() {
+        when:
+            2.times {
+                sut.initBrowserBeforeTest(driverSupplier, "LoginTest")
+                assert sut.getWebDriver() == webDriverStub
+                sut.tearDownDriver()
+            }
+        then:
+            created.get() == 1
+            0 * EFWebDriverMock.quit()
+        when:
+            sut.afterTestClass("LoginTest")
+        then:
+            1 * EFWebDriverMock.quit()
+    }
+
+    def "a class driver which fails its health check is replaced"() {
+        given:
+            def healthCheck = Stub(
+                    constructorArgs: [Duration.ofSeconds(1), new DriverPoolStats()],
+                    DriverHealthCheck) {
+                isHealthy(_) >> false
+            }
+            def checkedLifecycle = new ClassScopedDriverLifecycle(healthCheck)
+        when:
+            2.times {
+                checkedLifecycle.initBrowserBeforeTest(driverSupplier, "LoginTest")
+                checkedLifecycle.tearDownDriver()
+            }
+        then:
+            created.get() == 2
+            1 * EFWebDriverMock.quit()
+    }
+
+    def "each class gets its own driver"() {
+        when:
+            sut.initBrowserBeforeTest(driverSupplier, "LoginTest")
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest(driverSupplier, "SearchTest")
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+        then:
+            created.get() == 2
+            2 * EFWebDriverMock.quit()
+    }
+
+    def "tests without a class key get a single use driver"() {
+        when:
+            sut.initBrowserBeforeTest(driverSupplier)
+            sut.tearDownDriver()
+        then:
+            created.get() == 1
+            1 * EFWebDriverMock.quit()
+    }
+
+    def "methods of the same class running in parallel take turns with its driver"() {
+        given:
+            def conditions = new PollingConditions(timeout: 5)
+            def secondStarted = new AtomicInteger()
+            sut.initBrowserBeforeTest(driverSupplier, "LoginTest")
+        when:
+            def other = Thread.start {
+                sut.initBrowserBeforeTest(driverSupplier, "LoginTest")
+                secondStarted.incrementAndGet()
+                sut.tearDownDriver()
+            }
+            sleep(100)
+        then:
+            secondStarted.get() == 0
+        when:
+            sut.tearDownDriver()
+        then:
+            conditions.eventually {
+                assert secondStarted.get() == 1
+            }
+            created.get() == 1
+        cleanup:
+            other?.join()
+            sut.tearDownDriverPool()
+    }
+}
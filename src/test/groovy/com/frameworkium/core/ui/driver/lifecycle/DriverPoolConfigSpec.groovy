@@ -0,0 +1,35 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.common.properties.Property
+import com.frameworkium.core.ui.driver.BrowserSpec
+import spock.lang.Specification
+
+import static com.frameworkium.core.ui.driver.DriverSetup.Browser.CHROME
+import static com.frameworkium.core.ui.driver.DriverSetup.Browser.FIREFOX
+
+class DriverPoolConfigSpec extends Specification {
+
+    def cleanup() {
+        System.clearProperty("poolSizes")
+        Property.reload()
+    }
+
+    def "pool size is taken from poolSizes for the browser"() {
+        given:
+            System.properties["poolSizes"] = "chrome=4, firefox = 2"
+            Property.reload()
+        expect:
+            DriverPoolConfig.fromProperties(new BrowserSpec(FIREFOX, null, null, false)).poolSize == 2
+    }
+
+    def "a pool size which is not a number is reported with the property"() {
+        given:
+            System.properties["poolSizes"] = "chrome=four"
+            Property.reload()
+        when:
+            DriverPoolConfig.fromProperties(new BrowserSpec(CHROME, null, null, false))
+        then:
+            def e = thrown(IllegalArgumentException)
+            e.message == "Invalid poolSizes 'chrome=four', expected e.g. chrome=4,firefox=2"
+    }
+}
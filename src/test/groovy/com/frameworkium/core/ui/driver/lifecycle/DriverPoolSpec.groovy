@@ -0,0 +1,293 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebDriverException
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class DriverPoolSpec extends Specification {
+
+    def conditions = new PollingConditions(timeout: 5)
+    def webDriverStub = Stub(WebDriver)
+    def EFWebDriverMock = Mock(constructorArgs: [webDriverStub], EventFiringWebDriver)
+    def driverSupplier = {
+        Mock(Driver) {
+            getWebDriver() >> EFWebDriverMock
+        }
+    }
+
+    static config(int poolSize, int spareDrivers, Duration acquireTimeout) {
+        new DriverPoolConfig()
+                .withPoolSize(poolSize)
+                .withSpareDrivers(spareDrivers)
+                .withAcquireTimeout(acquireTimeout)
+                .withHealthCheckTimeout(Duration.ofMillis(200))
+    }
+
+    def "fill creates pool size drivers then spares in the background"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(2, 1, Duration.ofSeconds(1)))
+        when:
+            sut.fill()
+        then:
+            conditions.eventually {
+                assert sut.idleCount == 3
+            }
+            sut.liveCount == 3
+        cleanup:
+            sut.close()
+    }
+
+    def "fill returns once the first driver is ready"() {
+        given:
+            def created = new AtomicInteger()
+            def release = new CountDownLatch(1)
+            def driver = driverSupplier()
+            def slowSupplier = {
+                if (created.getAndIncrement() > 0) {
+                    release.await()
+                }
+                driver
+            }
+            def sut = new DriverPool(slowSupplier, config(3, 0, Duration.ofSeconds(5)))
+        when:
+            sut.fill()
+        then:
+            sut.idleCount == 1
+            sut.liveCount == 3
+        when:
+            release.countDown()
+        then:
+            conditions.eventually {
+                assert sut.idleCount == 3
+            }
+        cleanup:
+            release.countDown()
+            sut.close()
+    }
+
+    def "fill throws the cause when every driver fails to start"() {
+        given:
+            def failingSupplier = { throw new WebDriverException("no session") }
+            def sut = new DriverPool(failingSupplier, config(2, 0, Duration.ofSeconds(5)))
+        when:
+            sut.fill()
+        then:
+            def ex = thrown(WebDriverException)
+            ex.message.startsWith("no session")
+        cleanup:
+            sut.close()
+    }
+
+    def "discarded driver is quit and replaced in the background"() {
+        given:
+            def quits = new AtomicInteger()
+            EFWebDriverMock.quit() >> { quits.incrementAndGet() }
+            def sut = new DriverPool(driverSupplier, config(1, 0, Duration.ofSeconds(1)))
+            sut.fill()
+            def driver = sut.acquire()
+        when:
+            sut.discard(driver)
+        then:
+            conditions.eventually {
+                assert quits.get() == 1
+                assert sut.idleCount == 1
+            }
+            sut.acquire() != driver
+            sut.stats.evictions == 1
+        cleanup:
+            sut.close()
+    }
+
+    def "driver failing health check on release is evicted and replaced"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(1, 0, Duration.ofSeconds(1)))
+            sut.fill()
+            def driver = sut.acquire()
+        when:
+            sut.release(driver)
+        then:
+            1 * EFWebDriverMock.executeScript(_) >> { throw new WebDriverException("tab crashed") }
+            conditions.eventually {
+                assert sut.idleCount == 1
+            }
+            sut.stats.evictions == 1
+            // once on acquire and once on release
+            sut.stats.healthChecks == 2
+        cleanup:
+            sut.close()
+    }
+
+    def "driver reaching a recycle limit on release is replaced"() {
+        given:
+            def sut = new DriverPool(driverSupplier,
+                    config(1, 0, Duration.ofSeconds(1)).withMaxTestsPerDriver(2))
+            sut.fill()
+            def first = sut.acquire()
+        when:
+            sut.release(first)
+            sut.release(sut.acquire())
+        then:
+            sut.acquire() != first
+            sut.stats.recycles == 1
+            sut.stats.evictions == 0
+            sut.liveCount == 1
+        cleanup:
+            sut.close()
+    }
+
+    def "hung driver is evicted on acquire and the replacement is returned"() {
+        given:
+            // not a Spock mock, which would block other mock invocations while sleeping
+            def hungWebDriver = new HungWebDriver(webDriverStub)
+            def drivers = [Mock(Driver) { getWebDriver() >> hungWebDriver }]
+            def supplier = { drivers ? drivers.pop() : driverSupplier() }
+            def sut = new DriverPool(supplier, config(1, 0, Duration.ofSeconds(5)))
+            sut.fill()
+        when:
+            def driver = sut.acquire()
+        then:
+            driver.webDriver == EFWebDriverMock
+            sut.stats.evictions == 1
+            sut.stats.maxHealthCheckMillis >= 200
+        cleanup:
+            sut.close()
+    }
+
+    def "acquire throws NoSuchElementException after timeout if no driver is available"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(1, 0, Duration.ofMillis(100)))
+            sut.fill()
+            sut.acquire()
+        when:
+            sut.acquire()
+        then:
+            thrown NoSuchElementException
+        cleanup:
+            sut.close()
+    }
+
+    def "acquire waits for a released driver"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(1, 0, Duration.ofSeconds(5)))
+            sut.fill()
+            def driver = sut.acquire()
+        when:
+            Thread.start {
+                sleep(100)
+                sut.release(driver)
+            }
+        then:
+            sut.acquire() == driver
+        cleanup:
+            sut.close()
+    }
+
+    def "acquire prefers the driver last used with the same affinity key"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(2, 0, Duration.ofSeconds(1)))
+            sut.fill()
+            def first = sut.acquire("LoginTest")
+            def second = sut.acquire("SearchTest")
+            sut.release(first)
+            sut.release(second)
+        when:
+            def affine = sut.acquire("SearchTest")
+            sut.release(affine)
+            def leastRecentlyUsed = sut.acquire("CheckoutTest")
+        then:
+            affine.is(second)
+            leastRecentlyUsed.is(first)
+            sut.stats.affinityHits == 1
+            sut.stats.affinityMisses == 3
+        cleanup:
+            sut.close()
+    }
+
+    def "failed driver creation is retried on next acquire"() {
+        given:
+            def calls = new AtomicInteger()
+            def flakySupplier = {
+                if (calls.incrementAndGet() == 2) {
+                    throw new IllegalStateException("browser failed to start")
+                }
+                driverSupplier()
+            }
+            def sut = new DriverPool(flakySupplier, config(1, 1, Duration.ofSeconds(1)))
+        when: "one of the two drivers fails to start"
+            sut.fill()
+        then:
+            conditions.eventually {
+                assert calls.get() == 2
+                assert sut.liveCount == 1
+            }
+        when:
+            sut.acquire()
+        then:
+            conditions.eventually {
+                assert sut.liveCount == 2
+                assert sut.idleCount == 1
+            }
+        cleanup:
+            sut.close()
+    }
+
+    def "close quits idle drivers and drivers released afterwards"() {
+        given:
+            def sut = new DriverPool(driverSupplier, config(2, 0, Duration.ofSeconds(1)))
+            sut.fill()
+            def driver = sut.acquire()
+        when:
+            sut.close()
+            sut.release(driver)
+        then:
+            2 * EFWebDriverMock.quit()
+    }
+
+    def "reset replaces idle drivers with new browsers in the background"() {
+        given:
+            def created = new AtomicInteger()
+            def quits = new AtomicInteger()
+            EFWebDriverMock.quit() >> { quits.incrementAndGet() }
+            def countingSupplier = {
+                created.incrementAndGet()
+                driverSupplier()
+            }
+            def sut = new DriverPool(countingSupplier, config(2, 0, Duration.ofSeconds(1)))
+            sut.fill()
+            conditions.eventually {
+                assert sut.idleCount == 2
+            }
+        when:
+            sut.resetIdle()
+        then:
+            conditions.eventually {
+                assert created.get() == 4
+                assert quits.get() == 2
+                assert sut.idleCount == 2
+            }
+            sut.liveCount == 2
+            sut.stats.recycles == 2
+            sut.stats.evictions == 0
+        cleanup:
+            sut.close()
+    }
+}
+
+class HungWebDriver extends EventFiringWebDriver {
+
+    HungWebDriver(WebDriver driver) {
+        super(driver)
+    }
+
+    @Override
+    Object executeScript(String script, Object... args) {
+        sleep(5000)
+    }
+}
@@ -0,0 +1,60 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+import java.time.Duration
+
+class DriverRecyclePolicySpec extends Specification {
+
+    def webDriver = Mock(constructorArgs: [Stub(WebDriver)], EventFiringWebDriver)
+    def driver = Stub(Driver) { getWebDriver() >> webDriver }
+
+    def "drivers are recycled after the maximum number of tests"() {
+        given:
+            def sut = new DriverRecyclePolicy(3, Duration.ZERO, 0)
+            sut.track(driver)
+        expect:
+            2.times { assert !sut.check(driver).present }
+            sut.check(driver).get() == "ran 3 tests"
+    }
+
+    def "drivers are recycled once older than the maximum age"() {
+        given:
+            def sut = new DriverRecyclePolicy(0, Duration.ofMillis(100), 0)
+            sut.track(driver)
+        expect:
+            !sut.check(driver).present
+        when:
+            Thread.sleep(150)
+        then:
+            sut.check(driver).present
+    }
+
+    def "drivers are recycled when the page heap exceeds the maximum"() {
+        given:
+            def sut = new DriverRecyclePolicy(0, Duration.ZERO, 100 * 1024 * 1024)
+            sut.track(driver)
+        when:
+            def reason = sut.check(driver)
+        then:
+            1 * webDriver.executeScript({ it.contains("usedJSHeapSize") }) >> heapBytes
+            reason == expected
+        where:
+            heapBytes         | expected
+            150 * 1024 * 1024 | Optional.of("has a 150MB Javascript heap")
+            50 * 1024 * 1024  | Optional.empty()
+            null              | Optional.empty()
+    }
+
+    def "no limits keep drivers forever"() {
+        given:
+            def sut = new DriverRecyclePolicy(0, Duration.ZERO, 0)
+        when:
+            100.times { assert !sut.check(driver).present }
+        then:
+            0 * webDriver.executeScript(_)
+    }
+}
@@ -0,0 +1,145 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.BrowserSpec
+import com.frameworkium.core.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+
+import static com.frameworkium.core.ui.driver.DriverSetup.Browser.CHROME
+import static com.frameworkium.core.ui.driver.DriverSetup.Browser.FIREFOX
+
+class KeyedDriverLifecycleSpec extends Specification {
+
+    def chromeSpec = new BrowserSpec(CHROME, null, null, false)
+    def firefoxSpec = new BrowserSpec(FIREFOX, "91", null, true)
+
+    def webDrivers = [(chromeSpec): Stub(WebDriver), (firefoxSpec): Stub(WebDriver)]
+    def driverFactory = { BrowserSpec spec ->
+        def efWebDriver = Mock(constructorArgs: [webDrivers[spec]], EventFiringWebDriver) {
+            getWrappedDriver() >> webDrivers[spec]
+        }
+        Mock(Driver) {
+            getWebDriver() >> efWebDriver
+        }
+    }
+    def lifecycles = [:]
+    def lifecycleFactory = { BrowserSpec spec ->
+        lifecycles[spec] = Spy(SingleUseDriverLifecycle)
+    }
+
+    def sut = new KeyedDriverLifecycle(chromeSpec, lifecycleFactory)
+
+    def "initDriverPool initialises only the default spec's lifecycle"() {
+        when:
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+        then:
+            lifecycles.keySet() == [chromeSpec] as Set
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "tests borrow from the pool matching the browser they require"() {
+        given:
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+        when:
+            sut.initBrowserBeforeTest(firefoxSpec, null, driverFactory)
+        then:
+            sut.getWebDriver() == webDrivers[firefoxSpec]
+            lifecycles.keySet() == [chromeSpec, firefoxSpec] as Set
+        when:
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest({ driverFactory(chromeSpec) })
+        then:
+            sut.getWebDriver() == webDrivers[chromeSpec]
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "tearDownDriverPool tears down every lifecycle"() {
+        given:
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+            sut.initBrowserBeforeTest(firefoxSpec, null, driverFactory)
+            sut.tearDownDriver()
+        when:
+            sut.tearDownDriverPool()
+        then:
+            1 * lifecycles[chromeSpec].tearDownDriverPool()
+            1 * lifecycles[firefoxSpec].tearDownDriverPool()
+    }
+
+    def "initDriverPool can only be called again after tearDownDriverPool"() {
+        given:
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+        when:
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+        then:
+            thrown IllegalStateException
+        when:
+            sut.tearDownDriverPool()
+            sut.initDriverPool({ driverFactory(chromeSpec) })
+        then:
+            noExceptionThrown()
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "a spec's lifecycle is initialised without blocking other specs"() {
+        given:
+            def chromeStarted = new CountDownLatch(1)
+            def releaseChrome = new CountDownLatch(1)
+            def slowFactory = { BrowserSpec spec ->
+                if (spec == chromeSpec) {
+                    chromeStarted.countDown()
+                    releaseChrome.await()
+                }
+                lifecycleFactory(spec)
+            }
+            def sut = new KeyedDriverLifecycle(chromeSpec, slowFactory)
+            def chromeTest = Thread.start { sut.initDriverPool({ driverFactory(chromeSpec) }) }
+            chromeStarted.await()
+        when:
+            sut.initBrowserBeforeTest(firefoxSpec, null, driverFactory)
+        then:
+            sut.getWebDriver() == webDrivers[firefoxSpec]
+        cleanup:
+            releaseChrome.countDown()
+            chromeTest?.join()
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "a lifecycle which fails to initialise is tried again by the next test"() {
+        given:
+            def attempts = 0
+            def flakyFactory = { BrowserSpec spec ->
+                if (spec == firefoxSpec && attempts++ == 0) {
+                    throw new IllegalStateException("no firefox")
+                }
+                lifecycleFactory(spec)
+            }
+            def sut = new KeyedDriverLifecycle(chromeSpec, flakyFactory)
+        when:
+            sut.initBrowserBeforeTest(firefoxSpec, null, driverFactory)
+        then:
+            def e = thrown(IllegalStateException)
+            e.message == "no firefox"
+        when:
+            sut.initBrowserBeforeTest(firefoxSpec, null, driverFactory)
+        then:
+            sut.getWebDriver() == webDrivers[firefoxSpec]
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "browser specs with the same values are equal"() {
+        expect:
+            new BrowserSpec(FIREFOX, " 91 ", "", true) == firefoxSpec
+            new BrowserSpec(FIREFOX, "91", null, false) != firefoxSpec
+            firefoxSpec.toString() == "firefox 91 (headless)"
+    }
+}
@@ -0,0 +1,133 @@
+package com.frameworkium.core.ui.driver.lifecycle
+
+import com.frameworkium.core.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class PrefetchingDriverLifecycleSpec extends Specification {
+
+    def conditions = new PollingConditions(timeout: 5)
+    def created = new AtomicInteger()
+    def webDriverStub = Stub(WebDriver)
+    def EFWebDriverMock =
+            Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                getWrappedDriver() >> webDriverStub
+            }
+    def driverSupplier = {
+        created.incrementAndGet()
+        Mock(Driver) {
+            getWebDriver() >> EFWebDriverMock
+        }
+    }
+
+    def sut = new PrefetchingDriverLifecycle(new SingleUseDriverLifecycle(), 1)
+
+    def "following expected lifecycle yields correct driver"() {
+        when:
+            sut.initDriverPool(driverSupplier)
+            sut.initBrowserBeforeTest(driverSupplier)
+            assert sut.getWebDriver() == webDriverStub
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+        then: "both the used and the unused prefetched driver are quit"
+            2 * EFWebDriverMock.quit()
+            noExceptionThrown()
+    }
+
+    def "next driver is created while the current test runs"() {
+        when:
+            sut.initBrowserBeforeTest(driverSupplier)
+        then:
+            conditions.eventually {
+                assert created.get() == 2
+            }
+        when: "the next test uses the prefetched driver and prefetches another"
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest(driverSupplier)
+        then:
+            conditions.eventually {
+                assert created.get() == 3
+            }
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "failed prefetch falls back to creating a driver"() {
+        given:
+            def prefetches = new AtomicInteger()
+            def flakySupplier = {
+                if (Thread.currentThread().name.startsWith("driver-prefetch")
+                        && prefetches.incrementAndGet() == 1) {
+                    throw new IllegalStateException("browser failed to start")
+                }
+                driverSupplier()
+            }
+            sut.initBrowserBeforeTest(flakySupplier)
+            sut.tearDownDriver()
+        when:
+            sut.initBrowserBeforeTest(flakySupplier)
+        then:
+            sut.getWebDriver() == webDriverStub
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "a prefetched driver which fails its health check is replaced"() {
+        given:
+            def healthCheck = Stub(
+                    constructorArgs: [Duration.ofSeconds(1), new DriverPoolStats()],
+                    DriverHealthCheck) {
+                isHealthy(_) >> false
+            }
+            def checkedLifecycle =
+                    new PrefetchingDriverLifecycle(new SingleUseDriverLifecycle(), 1, healthCheck)
+            checkedLifecycle.initBrowserBeforeTest(driverSupplier)
+            checkedLifecycle.tearDownDriver()
+        when:
+            checkedLifecycle.initBrowserBeforeTest(driverSupplier)
+            checkedLifecycle.tearDownDriver()
+        then: "the broken driver is quit and another created, as well as the next prefetch"
+            2 * EFWebDriverMock.quit()
+            conditions.eventually {
+                assert created.get() == 4
+            }
+        cleanup:
+            checkedLifecycle.tearDownDriverPool()
+    }
+
+    def "resetting idle drivers quits those prefetched"() {
+        given:
+            sut.initBrowserBeforeTest(driverSupplier)
+            conditions.eventually {
+                assert created.get() == 2
+            }
+            sut.tearDownDriver()
+        when:
+            sut.resetIdleDrivers()
+        then:
+            1 * EFWebDriverMock.quit()
+        when: "the next test creates a driver rather than using the one quit"
+            sut.initBrowserBeforeTest(driverSupplier)
+        then:
+            conditions.eventually {
+                assert created.get() == 4
+            }
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "prefetch per thread must be positive"() {
+        when:
+            new PrefetchingDriverLifecycle(new SingleUseDriverLifecycle(), 0)
+        then:
+            thrown IllegalArgumentException
+    }
+}
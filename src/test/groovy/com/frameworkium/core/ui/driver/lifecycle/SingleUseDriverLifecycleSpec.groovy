@@ -5,6 +5,8 @@ import org.openqa.selenium.WebDriver
 import org.openqa.selenium.support.events.EventFiringWebDriver
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+
 class SingleUseDriverLifecycleSpec extends Specification {
 
     def webDriverStub = Stub(WebDriver)
@@ -51,4 +53,36 @@ class SingleUseDriverLifecycleSpec extends Specification {
             1 * EFWebDriverMock.quit() >> { throw new Exception("") }
             thrown Exception
     }
+
+    def "async teardown quits in the background and tearDownDriverPool waits for it"() {
+        given:
+            def asyncSut = new SingleUseDriverLifecycle(new DriverQuitter(1, 1))
+            def quitStarted = new CountDownLatch(1)
+            def quitThread = null
+            asyncSut.initBrowserBeforeTest(driverSupplier)
+        when:
+            asyncSut.tearDownDriver()
+            asyncSut.tearDownDriverPool()
+        then:
+            1 * EFWebDriverMock.quit() >> {
+                quitThread = Thread.currentThread().name
+                quitStarted.countDown()
+            }
+            quitStarted.count == 0
+            quitThread.startsWith("driver-quitter-")
+            quitThread != Thread.currentThread().name
+            noExceptionThrown()
+    }
+
+    def "async teardown does not throw if quit fails"() {
+        given:
+            def asyncSut = new SingleUseDriverLifecycle(new DriverQuitter(1, 1))
+            asyncSut.initBrowserBeforeTest(driverSupplier)
+        when:
+            asyncSut.tearDownDriver()
+            asyncSut.tearDownDriverPool()
+        then:
+            1 * EFWebDriverMock.quit() >> { throw new Exception("") }
+            noExceptionThrown()
+    }
 }
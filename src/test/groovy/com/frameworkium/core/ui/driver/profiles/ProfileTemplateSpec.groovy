@@ -0,0 +1,68 @@
+package com.frameworkium.core.ui.driver.profiles
+
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ProfileTemplateSpec extends Specification {
+
+    def driverMock = Mock(WebDriver)
+    def launcher = { Path dir ->
+        Files.createDirectories(dir.resolve("Default/Cache"))
+        Files.write(dir.resolve("Default/Cache/data_1"), [1, 2, 3] as byte[])
+        Files.write(dir.resolve("SingletonLock"), [0] as byte[])
+        driverMock
+    }
+
+    def "template is built by visiting the warm up urls"() {
+        when:
+            def template = ProfileTemplate.build("chrome", ["http://a", "http://b"], launcher)
+        then:
+            template.isPresent()
+            1 * driverMock.get("http://a")
+            1 * driverMock.get("http://b")
+            1 * driverMock.quit()
+        cleanup:
+            template?.ifPresent { it.delete() }
+    }
+
+    def "copies contain the warm cache but not lock files"() {
+        given:
+            def template = ProfileTemplate.build("chrome", [], launcher).get()
+        when:
+            def copy = template.createCopy()
+        then:
+            copy != template.templateDir
+            Files.readAllBytes(copy.resolve("Default/Cache/data_1")) == [1, 2, 3] as byte[]
+            !Files.exists(copy.resolve("SingletonLock"))
+        when:
+            template.delete()
+        then:
+            !Files.exists(copy)
+            !Files.exists(template.templateDir)
+    }
+
+    def "each copy is deleted once its browser quits"() {
+        given:
+            def template = ProfileTemplate.build("chrome", [], launcher).get()
+            def quit = template.createCopy()
+            def running = template.createCopy()
+        when:
+            template.deleteCopy(quit)
+        then:
+            !Files.exists(quit)
+            Files.exists(running)
+            template.copies == [running] as Set
+        cleanup:
+            template.delete()
+    }
+
+    def "no template is used if it fails to build"() {
+        given:
+            def failingLauncher = { Path dir -> throw new IllegalStateException("no browser") }
+        expect:
+            !ProfileTemplate.build("firefox", [], failingLauncher).isPresent()
+    }
+}
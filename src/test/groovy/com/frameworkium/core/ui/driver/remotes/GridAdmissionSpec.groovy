@@ -0,0 +1,106 @@
+package com.frameworkium.core.ui.driver.remotes
+
+import com.github.tomakehurst.wiremock.WireMockServer
+import groovy.json.JsonOutput
+import org.openqa.selenium.SessionNotCreatedException
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.time.Duration
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options
+
+class GridAdmissionSpec extends Specification {
+
+    @AutoCleanup("stop")
+    def grid = new WireMockServer(options().dynamicPort())
+    @AutoCleanup
+    GridAdmission sut
+
+    def setup() {
+        grid.start()
+    }
+
+    static status(Map... nodes) {
+        JsonOutput.toJson([value: [ready: true, nodes: nodes as List]])
+    }
+
+    static node(int freeSlots, int busySlots, String availability = "UP") {
+        [availability: availability,
+         maxSessions : freeSlots + busySlots,
+         slots       : [[session: null]] * freeSlots + [[session: [sessionId: "abc"]]] * busySlots]
+    }
+
+    def admission(Duration timeout) {
+        new GridAdmission(new URL(grid.baseUrl() + "/status"), Duration.ofHours(1), timeout)
+    }
+
+    def "free slots are counted on nodes which are up, limited by their maximum sessions"() {
+        given:
+            def limitedNode = node(3, 1) + [maxSessions: 2]
+            def status = [value: [nodes: [node(2, 1), node(4, 0, "DOWN"), limitedNode]]]
+        expect:
+            GridAdmission.countSlots(status).get() == [3, 5] as int[]
+            !GridAdmission.countSlots([value: [ready: true]]).present
+    }
+
+    def "sessions are created while slots are free and each uses up a slot"() {
+        given:
+            grid.stubFor(get("/status").willReturn(okJson(status(node(1, 1), node(1, 0)))))
+            sut = admission(Duration.ofMillis(100))
+            def created = 0
+        when:
+            sut.refresh()
+            2.times { sut.admit { created++ } }
+        then:
+            created == 2
+            sut.freeSlots == 2
+            sut.totalSlots == 3
+        when:
+            sut.admit { created++ }
+        then:
+            thrown(SessionNotCreatedException)
+            created == 2
+    }
+
+    def "failed session requests give their slot back"() {
+        given:
+            grid.stubFor(get("/status").willReturn(okJson(status(node(1, 0)))))
+            sut = admission(Duration.ofMillis(100))
+            sut.refresh()
+        when:
+            sut.admit { throw new IllegalStateException("grid error") }
+        then:
+            thrown(IllegalStateException)
+            sut.gate.limit == 1
+            sut.gate.inside == 0
+    }
+
+    def "queued session requests are admitted once the grid reports free slots"() {
+        given:
+            grid.stubFor(get("/status").willReturn(okJson(status(node(0, 1)))))
+            sut = admission(Duration.ofSeconds(5))
+            sut.refresh()
+            def created = false
+            def request = Thread.start { sut.admit { created = true } }
+            while (sut.gate.waiting == 0) {
+                Thread.sleep(5)
+            }
+        when:
+            grid.stubFor(get("/status").willReturn(okJson(status(node(1, 0)))))
+            sut.refresh()
+            request.join(5000)
+        then:
+            created
+    }
+
+    def "refresh fails when the status does not report slots"() {
+        given:
+            grid.stubFor(get("/status").willReturn(okJson('{"value": {"ready": true}}')))
+            sut = admission(Duration.ofMillis(100))
+        expect:
+            !sut.refresh()
+    }
+}
@@ -0,0 +1,53 @@
+package com.frameworkium.core.ui.driver.remotes
+
+import com.github.tomakehurst.wiremock.WireMockServer
+import org.openqa.selenium.chrome.ChromeOptions
+import org.openqa.selenium.remote.RemoteWebDriver
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options
+
+class RemoteCommandExecutorSpec extends Specification {
+
+    @AutoCleanup("stop")
+    def grid = new WireMockServer(options().dynamicPort())
+
+    def setup() {
+        grid.start()
+        RemoteCommandExecutor.resetLatencies()
+        grid.stubFor(post("/session").willReturn(okJson(
+                '{"value": {"sessionId": "abc", "capabilities": {"browserName": "chrome"}}}')))
+    }
+
+    def "commands are sent requesting gzipped responses and their latency is recorded"() {
+        given:
+            def title = "Home " * 200
+            grid.stubFor(get("/session/abc/title").willReturn(okJson("{\"value\": \"$title\"}")))
+            def driver = new RemoteWebDriver(
+                    RemoteCommandExecutor.create(new URL(grid.baseUrl())), new ChromeOptions())
+        when:
+            2.times { assert driver.getTitle() == title }
+        then:
+            grid.verify(2, getRequestedFor(urlEqualTo("/session/abc/title"))
+                    .withHeader("Accept-Encoding", containing("gzip")))
+            def latencies = RemoteCommandExecutor.getLatencies()
+            latencies.newSession.count == 1
+            latencies.getTitle.count == 2
+            latencies.getTitle.maxNanos > 0
+            latencies.getTitle.totalNanos >= latencies.getTitle.maxNanos
+    }
+
+    def "latency is recorded for commands which fail"() {
+        given:
+            def driver = new RemoteWebDriver(
+                    RemoteCommandExecutor.create(new URL(grid.baseUrl())), new ChromeOptions())
+            grid.stop()
+        when:
+            driver.getTitle()
+        then:
+            thrown(Exception)
+            RemoteCommandExecutor.getLatencies().getTitle.count == 1
+    }
+}
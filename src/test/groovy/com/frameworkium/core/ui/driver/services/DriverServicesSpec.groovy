@@ -0,0 +1,136 @@
+package com.frameworkium.core.ui.driver.services
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+
+class DriverServicesSpec extends Specification {
+
+    def chromeServices = []
+    def geckoServices = []
+    def geckoStarting = new CountDownLatch(1)
+    def releaseGecko = new CountDownLatch(0)
+
+    def setup() {
+        DriverServices.chromeServiceFactory = {
+            def service = new FakeChromeDriverService()
+            chromeServices << service
+            service
+        }
+        DriverServices.geckoServiceFactory = {
+            def service = new FakeGeckoDriverService(geckoStarting, releaseGecko)
+            geckoServices << service
+            service
+        }
+    }
+
+    def cleanup() {
+        DriverServices.shutdown()
+        DriverServices.chromeServiceFactory = SharedChromeDriverService.&create
+        DriverServices.geckoServiceFactory = SharedGeckoDriverService.&create
+    }
+
+    def "services are not shared until enabled"() {
+        expect:
+            !DriverServices.chrome().isPresent()
+            !DriverServices.leaseGecko().isPresent()
+            chromeServices.empty
+    }
+
+    def "one chromedriver serves every session until it stops running"() {
+        given:
+            DriverServices.enable()
+        when:
+            def first = DriverServices.chrome().get()
+        then:
+            DriverServices.chrome().get().is(first)
+            chromeServices.size() == 1
+        when:
+            first.running = false
+        then:
+            !DriverServices.chrome().get().is(first)
+            chromeServices.size() == 2
+    }
+
+    def "shutdown stops the chromedriver and sharing"() {
+        given:
+            DriverServices.enable()
+            def service = DriverServices.chrome().get()
+        when:
+            DriverServices.shutdown()
+        then:
+            !service.running
+            !DriverServices.chrome().isPresent()
+    }
+
+    def "a geckodriver started while shutting down is stopped rather than leaked"() {
+        given:
+            DriverServices.enable()
+            releaseGecko = new CountDownLatch(1)
+            def leased = null
+            def lease = Thread.start { leased = DriverServices.leaseGecko() }
+            geckoStarting.await()
+        when:
+            DriverServices.shutdown()
+            releaseGecko.countDown()
+            lease.join(5000)
+        then:
+            !leased.isPresent()
+            !geckoServices[0].running
+    }
+
+    static class FakeChromeDriverService extends SharedChromeDriverService {
+
+        boolean running
+
+        FakeChromeDriverService() {
+            super(new File("chromedriver"), 9515, Duration.ofSeconds(1), [], [:])
+        }
+
+        @Override
+        void start() {
+            running = true
+        }
+
+        @Override
+        boolean isRunning() {
+            running
+        }
+
+        @Override
+        void shutdown() {
+            running = false
+        }
+    }
+
+    static class FakeGeckoDriverService extends SharedGeckoDriverService {
+
+        final CountDownLatch starting
+        final CountDownLatch release
+        boolean running
+
+        FakeGeckoDriverService(CountDownLatch starting, CountDownLatch release) {
+            super(new File("geckodriver"), 4444, Duration.ofSeconds(1), [], [:])
+            this.starting = starting
+            this.release = release
+        }
+
+        @Override
+        void start() {
+            starting.countDown()
+            release.await()
+            running = true
+        }
+
+        @Override
+        boolean isRunning() {
+            running
+        }
+
+        @Override
+        void shutdown() {
+            running = false
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.frameworkium.core.ui.driver.services
+
+import org.openqa.selenium.ImmutableCapabilities
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ProcessReaperSpec extends Specification {
+
+    def conditions = new PollingConditions(timeout: 5)
+
+    def "process table is parsed from ps output, including macOS paths with spaces"() {
+        given:
+            def table = ProcessTable.parse("""\
+                |    1     0 Sat Oct 17 09:00:00 2026 init
+                |  100     1 Sat Oct 17 10:00:00 2026 java
+                |  200   100 Sat Oct 17 10:15:02 2026 chromedriver
+                |  300   200 Sat Oct  3 10:15:03 2026 /Applications/Google Chrome.app/Contents/MacOS/Google Chrome
+                |  400   300 Sat Oct 17 10:15:04 2026 Web Content
+                |garbage line
+                |""".stripMargin())
+        expect:
+            table.pids == [1L, 100L, 200L, 300L, 400L] as Set
+            table.getName(300) == "Google Chrome"
+            table.isDescendant(400, 100)
+            !table.isDescendant(100, 200)
+            table.hasNamedAncestor(400, 100, ProcessReaper.&isBrowserProcess)
+            !table.hasNamedAncestor(100, 1, ProcessReaper.&isBrowserProcess)
+            table.getDescendants(200) == [300L, 400L] as Set
+            table.isRunning(200, "chromedriver", table.getStartTime(200))
+            !table.isRunning(200, "chromedriver", table.getStartTime(200) - 1)
+            !table.isRunning(200, "sleep", table.getStartTime(200))
+            table.getStartTime(400) - table.getStartTime(200) == 2
+    }
+
+    static fakeBrowser() {
+        def fakeBrowser = Files.createTempDirectory("reaper").resolve("fake-chrome")
+        Files.copy(new File("/bin/sleep").toPath(), fakeBrowser, StandardCopyOption.REPLACE_EXISTING)
+        fakeBrowser.toFile().setExecutable(true)
+        fakeBrowser
+    }
+
+    @IgnoreIf({ os.windows })
+    def "browser processes started while tracking are killed at the end of the suite"() {
+        given:
+            def fakeBrowser = fakeBrowser()
+            def other = new ProcessBuilder("sleep", "60").start()
+            ProcessReaper.start()
+        when:
+            def process = ProcessReaper.track(
+                    new Object(),
+                    { new ProcessBuilder(fakeBrowser.toString(), "60").start() },
+                    { new ImmutableCapabilities() })
+            ProcessReaper.stop()
+        then:
+            conditions.eventually {
+                assert !process.alive
+            }
+            other.alive
+            ProcessReaper.summary["suite end"]["fake-chrome"] >= 1
+        cleanup:
+            other?.destroy()
+            ProcessReaper.stop()
+    }
+
+    @IgnoreIf({ os.windows })
+    def "browsers created at the same time are only killed once their own driver is unused"() {
+        given:
+            def fakeBrowser = fakeBrowser()
+            def bothStarted = new CountDownLatch(2)
+            def owners = [new Object(), new Object()]
+            ProcessReaper.start()
+        when: "each browser starts while the other is being created"
+            def processes = (0..1).collect { i ->
+                CompletableFuture.supplyAsync {
+                    ProcessReaper.track(
+                            owners[i],
+                            {
+                                def process = new ProcessBuilder(fakeBrowser.toString(), "60").start()
+                                bothStarted.countDown()
+                                bothStarted.await(5, TimeUnit.SECONDS)
+                                process
+                            },
+                            { Process process -> new ImmutableCapabilities("moz:processID", process.pid()) })
+                }
+            }*.get()
+        and: "the first driver is no longer used"
+            owners[0] = null
+        then:
+            conditions.eventually {
+                System.gc()
+                ProcessReaper.reapUnused()
+                assert !processes[0].alive
+            }
+            processes[1].alive
+        cleanup:
+            ProcessReaper.stop()
+    }
+
+    @IgnoreIf({ os.windows })
+    def "processes left by a dead JVM are only killed if they started when registered"() {
+        given:
+            def process = new ProcessBuilder("sleep", "60").start()
+            def startTime = ProcessTable.snapshot().getStartTime(process.pid())
+            def processFile = Paths.get(System.getProperty("java.io.tmpdir"),
+                    "frameworkium-browser-processes.txt")
+            def deadJvm = 999999999
+        when: "the process ID was reused since"
+            processFile.toFile() << "$deadJvm ${process.pid()} ${startTime - 60} sleep\n"
+            ProcessReaper.start()
+            ProcessReaper.stop()
+        then:
+            process.alive
+            !processFile.text.contains("$deadJvm ")
+        when: "it is the same process"
+            processFile.toFile() << "$deadJvm ${process.pid()} $startTime sleep\n"
+            ProcessReaper.start()
+        then:
+            conditions.eventually {
+                assert !process.alive
+            }
+        cleanup:
+            process?.destroy()
+            ProcessReaper.stop()
+    }
+}
@@ -0,0 +1,29 @@
+package com.frameworkium.core.ui.driver.services
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+class SharedGeckoDriverServiceSpec extends Specification {
+
+    def sut = new SharedGeckoDriverService(
+            new File("geckodriver"), 4444, Duration.ofSeconds(1), [], [:])
+
+    def "stop releases a leased service once instead of stopping it"() {
+        given:
+            def released = []
+            sut.lease({ released << it })
+        when:
+            sut.stop()
+            sut.stop()
+        then:
+            released == [sut]
+    }
+
+    def "stop does nothing for a service which is not leased"() {
+        when:
+            sut.stop()
+        then:
+            noExceptionThrown()
+    }
+}
@@ -0,0 +1,36 @@
+package com.frameworkium.core.ui.js
+
+import com.frameworkium.core.ui.driver.FakeChromiumDriver
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+class AnimationFreezerSpec extends Specification {
+
+    def "Chromium browsers freeze animations on every new document"() {
+        given:
+            def chromium = new FakeChromiumDriver()
+            def EFWebDriverMock = Mock(constructorArgs: [chromium], EventFiringWebDriver) {
+                getWrappedDriver() >> chromium
+            }
+        expect:
+            AnimationFreezer.freezeOnNewDocuments(EFWebDriverMock)
+            chromium.paramsOf("Page.addScriptToEvaluateOnNewDocument")*.source ==
+                    [AnimationFreezer.FREEZE_SCRIPT]
+    }
+
+    def "other browsers must freeze animations on each page"() {
+        expect:
+            !AnimationFreezer.freezeOnNewDocuments(Stub(WebDriver))
+    }
+
+    def "freezing the current page runs the freeze script"() {
+        given:
+            def javascriptExecutor = Mock(JavascriptExecutor)
+        when:
+            AnimationFreezer.freeze(javascriptExecutor)
+        then:
+            1 * javascriptExecutor.executeScript(AnimationFreezer.FREEZE_SCRIPT)
+    }
+}
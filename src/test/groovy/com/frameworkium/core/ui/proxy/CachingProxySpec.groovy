@@ -0,0 +1,113 @@
+package com.frameworkium.core.ui.proxy
+
+import com.github.tomakehurst.wiremock.WireMockServer
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options
+
+class CachingProxySpec extends Specification {
+
+    @AutoCleanup("stop")
+    def origin = new WireMockServer(options().dynamicPort())
+    def cacheDir = Files.createTempDirectory("proxy-cache-spec")
+    @AutoCleanup
+    def sut = new CachingProxy(new ProxyCache(cacheDir, 1024 * 1024, 1024))
+
+    def setup() {
+        origin.start()
+    }
+
+    def "static assets are downloaded once and then served from the cache"() {
+        given:
+            origin.stubFor(get("/app.js").willReturn(
+                    ok("var app;").withHeader("Cache-Control", "public, max-age=3600")))
+        expect:
+            3.times { assert fetch("/app.js") == "var app;" }
+            origin.verify(1, getRequestedFor(urlEqualTo("/app.js")))
+    }
+
+    def "stale responses are revalidated rather than downloaded again"() {
+        given:
+            origin.stubFor(get("/app.css").willReturn(
+                    ok("body {}").withHeader("Cache-Control", "no-cache").withHeader("ETag", '"v1"')))
+            origin.stubFor(get("/app.css").withHeader("If-None-Match", equalTo('"v1"'))
+                    .willReturn(aResponse().withStatus(304)))
+        expect:
+            2.times { assert fetch("/app.css") == "body {}" }
+            origin.verify(1, getRequestedFor(urlEqualTo("/app.css"))
+                    .withHeader("If-None-Match", equalTo('"v1"')))
+    }
+
+    def "responses evicted while being revalidated are downloaded again"() {
+        given:
+            origin.stubFor(get("/app.css").willReturn(
+                    ok("body {}").withHeader("Cache-Control", "no-cache").withHeader("ETag", '"v1"')))
+            origin.stubFor(get("/app.css").withHeader("If-None-Match", equalTo('"v1"'))
+                    .willReturn(aResponse().withStatus(304)))
+            fetch("/app.css")
+        when: "the body is evicted, but not the response head"
+            cacheDir.toFile().listFiles()*.delete()
+        then:
+            fetch("/app.css") == "body {}"
+            origin.verify(2, getRequestedFor(urlEqualTo("/app.css"))
+                    .withoutHeader("If-None-Match"))
+    }
+
+    def "requests are sent via the upstream proxy, if there is one"() {
+        given:
+            def chained = new CachingProxy(
+                    new ProxyCache(Files.createTempDirectory("proxy-cache-spec"), 1024, 1024),
+                    "127.0.0.1:${origin.port()}")
+            origin.stubFor(get("/app.js").willReturn(
+                    ok("var app;").withHeader("Cache-Control", "public, max-age=3600")))
+        expect: "the origin server, as the upstream proxy, is sent the absolute URI"
+            fetch("http://origin.invalid/app.js", chained) == "var app;"
+        cleanup:
+            chained?.close()
+    }
+
+    def "uncacheable and oversized responses are always downloaded"() {
+        given:
+            origin.stubFor(get("/session").willReturn(
+                    ok("user").withHeader("Cache-Control", "no-store")))
+            origin.stubFor(get("/big.js").willReturn(
+                    ok("x" * 2048).withHeader("Cache-Control", "max-age=3600")))
+        expect:
+            2.times {
+                assert fetch("/session") == "user"
+                assert fetch("/big.js").length() == 2048
+            }
+            origin.verify(2, getRequestedFor(urlEqualTo("/session")))
+            origin.verify(2, getRequestedFor(urlEqualTo("/big.js")))
+    }
+
+    def "least recently used responses are evicted once the cache is full"() {
+        given:
+            def cache = new ProxyCache(cacheDir, 10, 10)
+            def request = new HttpHead("GET http://host/ HTTP/1.1")
+            def head = new HttpHead("HTTP/1.1 200 OK")
+        when:
+            cache.put("a", request, head, "aaaa".bytes)
+            cache.put("b", request, head, "bbbb".bytes)
+            cache.get("a", request)
+            cache.put("c", request, head, "cccc".bytes)
+        then:
+            cache.get("a", request).isPresent()
+            !cache.get("b", request).isPresent()
+            cache.get("c", request).isPresent()
+            cache.size == 8
+    }
+
+    private String fetch(String path) {
+        fetch("http://localhost:${origin.port()}$path", sut)
+    }
+
+    private static String fetch(String url, CachingProxy via) {
+        def proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", via.port))
+        new URL(url).openConnection(proxy).inputStream.text
+    }
+}
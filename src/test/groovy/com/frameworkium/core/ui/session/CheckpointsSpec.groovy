@@ -0,0 +1,56 @@
+package com.frameworkium.core.ui.session
+
+import org.openqa.selenium.Cookie
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class CheckpointsSpec extends Specification {
+
+    def runs = new AtomicInteger()
+    def release = new CountDownLatch(1)
+    def steps = { WebDriver driver ->
+        runs.incrementAndGet()
+        release.await()
+        driver.get("https://app.example.com/orders/42")
+        driver.manage().addCookie(new Cookie("sid", "abc"))
+    }
+
+    def cleanup() {
+        Checkpoints.clear()
+    }
+
+    def "a checkpoint is created once and other browsers start from it"() {
+        given:
+            def browsers = (1..3).collect { new FakeBrowser() }
+        when:
+            def threads = browsers.collect { browser ->
+                Thread.start { Checkpoints.startFrom(browser.driver, "order created", steps) }
+            }
+            sleep(100)
+            release.countDown()
+            threads*.join()
+        then:
+            runs.get() == 1
+            browsers.every { it.url == "https://app.example.com/orders/42" }
+            browsers.every { it.cookies*.value == ["abc"] }
+    }
+
+    def "a failed checkpoint is created by the next test to need it"() {
+        given:
+            release.countDown()
+            def failingSteps = { WebDriver driver -> throw new IllegalStateException("no orders") }
+        when:
+            Checkpoints.startFrom(new FakeBrowser().driver, "order created", failingSteps)
+        then:
+            thrown(IllegalStateException)
+            !Checkpoints.get("order created").isPresent()
+        when:
+            Checkpoints.startFrom(new FakeBrowser().driver, "order created", steps)
+        then:
+            runs.get() == 1
+            Checkpoints.get("order created").get().url == "https://app.example.com/orders/42"
+    }
+}
@@ -0,0 +1,41 @@
+package com.frameworkium.core.ui.session
+
+import org.openqa.selenium.Cookie
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.WebDriver
+
+/** A browser with an in-memory URL, cookies and storage. */
+class FakeBrowser {
+
+    String url = "data:,"
+    Set<Cookie> cookies = [] as Set
+    Map<String, String> localStorage = [:]
+    Map<String, String> sessionStorage = [:]
+
+    final WebDriver driver = [
+            getCurrentUrl: { url },
+            get          : { String newUrl -> url = newUrl },
+            manage       : { options },
+            executeScript: { String script, Object[] args ->
+                Map<String, String> items = this."${args[0]}"
+                if (script.contains("storage.clear()")) {
+                    items.clear()
+                    items.putAll(args[1] as Map)
+                    return null
+                }
+                new HashMap(items)
+            }
+    ] as JavascriptWebDriver
+
+    private final WebDriver.Options options = [
+            getCookies      : { new HashSet(cookies) },
+            addCookie       : { Cookie cookie ->
+                cookies.removeIf { it.name == cookie.name }
+                cookies << cookie
+            },
+            deleteAllCookies: { cookies.clear() }
+    ] as WebDriver.Options
+
+    interface JavascriptWebDriver extends WebDriver, JavascriptExecutor {
+    }
+}
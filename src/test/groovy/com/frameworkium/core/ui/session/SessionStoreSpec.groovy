@@ -0,0 +1,74 @@
+package com.frameworkium.core.ui.session
+
+import org.openqa.selenium.Cookie
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+class SessionStoreSpec extends Specification {
+
+    def browsers = [:]
+    def logins = 0
+    def login = { WebDriver driver ->
+        logins++
+        driver.get("https://app.example.com/home")
+        driver.manage().addCookie(new Cookie("sid", "session-$logins"))
+        browsers[driver].localStorage.token = "token-$logins"
+        browsers[driver].sessionStorage.tab = "1"
+    }
+
+    def cleanup() {
+        SessionStore.clear()
+    }
+
+    def "each role logs in once and later browsers have the session restored"() {
+        given:
+            def first = fakeBrowser()
+            def second = fakeBrowser()
+        when:
+            SessionStore.loginAs(first.driver, "admin", login, { true })
+            SessionStore.loginAs(second.driver, "admin", login, { true })
+        then:
+            logins == 1
+            second.url == "https://app.example.com/robots.txt"
+            second.cookies*.value == ["session-1"]
+            second.localStorage == [token: "token-1"]
+            second.sessionStorage == [tab: "1"]
+        when:
+            SessionStore.loginAs(fakeBrowser().driver, "viewer", login, { true })
+        then:
+            logins == 2
+    }
+
+    def "a session rejected by the server is cleared and the role logs in again"() {
+        given:
+            SessionStore.loginAs(fakeBrowser().driver, "admin", login, { true })
+            def browser = fakeBrowser()
+        when:
+            SessionStore.loginAs(browser.driver, "admin", login, { browsers[it].localStorage.token != "token-1" })
+        then:
+            logins == 2
+            browser.cookies*.value == ["session-2"]
+            SessionStore.get("admin").get().localStorage == [token: "token-2"]
+    }
+
+    def "sessions with expired cookies are not restored"() {
+        given:
+            def expiringLogin = { WebDriver driver ->
+                login(driver)
+                driver.manage().addCookie(new Cookie("remember", "me", "/", new Date(0)))
+            }
+            SessionStore.loginAs(fakeBrowser().driver, "admin", expiringLogin, { true })
+            def browser = fakeBrowser()
+        when:
+            SessionStore.loginAs(browser.driver, "admin", expiringLogin, { true })
+        then:
+            logins == 2
+            browser.url == "https://app.example.com/home"
+    }
+
+    private FakeBrowser fakeBrowser() {
+        def browser = new FakeBrowser()
+        browsers[browser.driver] = browser
+        browser
+    }
+}